@@ -0,0 +1,62 @@
+package com.teya.ledger.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global cap on in-flight requests that adapts to observed latency (AIMD).
+ * <p>
+ * Every request that completes under the latency threshold while the limit is being used grows the limit
+ * by {@code 1 / limit}, i.e. by roughly one per round of requests. A request over the threshold shrinks it
+ * multiplicatively by the backoff ratio. The limit is kept in fixed point so both updates are single CAS operations.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final long SCALE = 1_000L;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong scaledLimit;
+    private final long minScaled;
+    private final long maxScaled;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit <= 0 || minLimit > maxLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit configuration");
+        }
+        this.minScaled = minLimit * SCALE;
+        this.maxScaled = maxLimit * SCALE;
+        this.scaledLimit = new AtomicLong(Math.max(minScaled, Math.min(maxScaled, initialLimit * SCALE)));
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+    }
+
+    boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    void release(long latencyNanos) {
+        int wasInFlight = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            scaledLimit.updateAndGet(limit -> Math.max(minScaled, (long) (limit * backoffRatio)));
+        } else if (wasInFlight * 2L * SCALE >= scaledLimit.get()) {
+            scaledLimit.updateAndGet(limit -> Math.min(maxScaled, limit + SCALE * SCALE / limit));
+        }
+    }
+
+    int limit() {
+        return (int) (scaledLimit.get() / SCALE);
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
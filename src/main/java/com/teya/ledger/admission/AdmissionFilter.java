@@ -0,0 +1,158 @@
+package com.teya.ledger.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teya.ledger.exception.ErrorResponse;
+import com.teya.ledger.model.AccountId;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Admission control for account writes: transactions, holds and hold captures.
+ * <p>
+ * Requests are checked against the per-client bucket, then the per-account bucket, then the global
+ * adaptive concurrency limit. Anything over a limit is answered with {@code 429 Too Many Requests}
+ * before it reaches the controller, so no {@code LedgerService} work is done for it, and the tokens it took
+ * from the buckets checked before the one that rejected it are given back.
+ * <p>
+ * A client is the authenticated principal, or else the remote address. The {@code X-Client-Id} header is only
+ * believed when the request comes from one of the configured trusted proxies, since any other caller could
+ * rotate it to get a fresh bucket on every request.
+ * <p>
+ * Paths are matched as Spring MVC routes them, decoded and without {@code ;} parameters, and accounts are keyed by
+ * their parsed ID, so a request cannot reach a write under a spelling of its path or account ID that the limits
+ * do not recognise.
+ */
+@Component
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final String ACCOUNTS_PATH = "/api/v1/ledger/accounts/";
+    private static final String TRANSACTIONS = "/transactions";
+    private static final String ASYNC_TRANSACTIONS = "/transactions/async";
+    private static final String HOLDS = "/holds";
+    private static final String CAPTURE = "/capture";
+
+    private final boolean enabled;
+    private final TokenBucketTable accountBuckets;
+    private final TokenBucketTable clientBuckets;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Set<String> trustedProxies;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionFilter(AdmissionProperties properties, ObjectMapper objectMapper) {
+        this.enabled = properties.enabled();
+        this.accountBuckets = new TokenBucketTable(properties.tableSize(),
+                properties.accountPermitsPerSecond(), properties.accountBurst(), System::nanoTime);
+        this.clientBuckets = new TokenBucketTable(properties.tableSize(),
+                properties.clientPermitsPerSecond(), properties.clientBurst(), System::nanoTime);
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(properties.initialConcurrencyLimit(),
+                properties.minConcurrencyLimit(), properties.maxConcurrencyLimit(),
+                properties.latencyThreshold().toNanos(), properties.backoffRatio());
+        this.trustedProxies = Set.copyOf(properties.trustedProxies());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || accountIdOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = clientIdOf(request);
+        if (!clientBuckets.tryAcquire(clientId)) {
+            reject(response, "Rate limit exceeded for client");
+            return;
+        }
+        AccountId accountId = accountIdOf(request);
+        if (!accountBuckets.tryAcquire(accountId)) {
+            clientBuckets.refund(clientId);
+            reject(response, "Rate limit exceeded for account");
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            clientBuckets.refund(clientId);
+            accountBuckets.refund(accountId);
+            reject(response, "Server is at capacity, retry later");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimit.release(System.nanoTime() - start);
+        }
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), message, LocalDateTime.now()));
+    }
+
+    private String clientIdOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return principal.getName();
+        }
+        String remoteAddress = request.getRemoteAddr();
+        if (trustedProxies.contains(remoteAddress)) {
+            String clientId = request.getHeader(CLIENT_ID_HEADER);
+            if (clientId != null && !clientId.isBlank()) {
+                return clientId;
+            }
+        }
+        return remoteAddress;
+    }
+
+    /**
+     * Extracts {@code {accountId}} from the account writes under {@code /api/v1/ledger/accounts/{accountId}}:
+     * {@code /transactions}, {@code /transactions/async}, {@code /holds} and {@code /holds/{holdId}/capture}.
+     * Returns {@code null} for any other path, and for an account ID that does not parse, which the controller
+     * answers with {@code 404} without touching the ledger.
+     */
+    static AccountId accountIdOf(HttpServletRequest request) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        if (!path.startsWith(ACCOUNTS_PATH)) {
+            return null;
+        }
+        int end = path.indexOf('/', ACCOUNTS_PATH.length());
+        if (end <= ACCOUNTS_PATH.length() || !isAccountWrite(path.substring(end))) {
+            return null;
+        }
+        try {
+            return AccountId.parse(path.substring(ACCOUNTS_PATH.length(), end));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isAccountWrite(String subPath) {
+        if (subPath.equals(TRANSACTIONS) || subPath.equals(ASYNC_TRANSACTIONS) || subPath.equals(HOLDS)) {
+            return true;
+        }
+        int holdIdStart = HOLDS.length() + 1;
+        int holdIdEnd = subPath.length() - CAPTURE.length();
+        return subPath.startsWith(HOLDS + "/") && subPath.endsWith(CAPTURE)
+                && holdIdEnd > holdIdStart && subPath.indexOf('/', holdIdStart) == holdIdEnd;
+    }
+}
@@ -0,0 +1,23 @@
+package com.teya.ledger.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "ledger.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1048576") int tableSize,
+        @DefaultValue("1000") double accountPermitsPerSecond,
+        @DefaultValue("2000") int accountBurst,
+        @DefaultValue("10000") double clientPermitsPerSecond,
+        @DefaultValue("20000") int clientBurst,
+        @DefaultValue("256") int initialConcurrencyLimit,
+        @DefaultValue("16") int minConcurrencyLimit,
+        @DefaultValue("4096") int maxConcurrencyLimit,
+        @DefaultValue("50ms") Duration latencyThreshold,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue List<String> trustedProxies
+) {}
@@ -0,0 +1,70 @@
+package com.teya.ledger.admission;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-size table of token buckets, indexed by key hash.
+ * <p>
+ * Each bucket is kept in its virtual-scheduling (GCRA) form: a single "theoretical arrival time" that
+ * advances by one emission interval per admitted request. A request is admitted while that time is at
+ * most {@code burst - 1} intervals ahead of now, which is equivalent to a bucket of {@code burst} tokens
+ * refilled at {@code permitsPerSecond}. One long per bucket means a bucket is updated with a single CAS,
+ * and the table never grows: keys that hash to the same slot share a bucket, which can only make
+ * limiting stricter, never looser.
+ */
+final class TokenBucketTable {
+
+    private final AtomicLongArray arrivalTimes;
+    private final int mask;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    TokenBucketTable(int size, double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (size <= 0 || permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Token bucket size, rate and burst must be positive");
+        }
+        int slots = Integer.highestOneBit(size);
+        this.arrivalTimes = new AtomicLongArray(slots);
+        this.mask = slots - 1;
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes one token from the bucket of {@code key}.
+     *
+     * @return {@code true} if the request is admitted
+     */
+    boolean tryAcquire(Object key) {
+        int slot = slotFor(key);
+        long now = nanoClock.getAsLong() - origin;
+        while (true) {
+            long arrivalTime = arrivalTimes.get(slot);
+            long base = Math.max(arrivalTime, now);
+            if (base - now > burstToleranceNanos) {
+                return false;
+            }
+            if (arrivalTimes.compareAndSet(slot, arrivalTime, base + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire} for a request that was then rejected elsewhere. A bucket
+     * that has refilled since is already full, so the refund cannot take it above {@code burst} tokens.
+     */
+    void refund(Object key) {
+        arrivalTimes.addAndGet(slotFor(key), -emissionIntervalNanos);
+    }
+
+    private int slotFor(Object key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
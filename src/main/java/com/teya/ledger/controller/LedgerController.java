@@ -1,25 +1,49 @@
 package com.teya.ledger.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.teya.ledger.dto.AccountDTO;
+import com.teya.ledger.dto.AccountViewDTO;
+import com.teya.ledger.dto.CaptureHoldRequest;
+import com.teya.ledger.dto.CreateAccountsRequest;
+import com.teya.ledger.dto.CreateHoldRequest;
 import com.teya.ledger.dto.CreateTransactionRequest;
+import com.teya.ledger.dto.HoldDTO;
+import com.teya.ledger.dto.SubmissionDTO;
 import com.teya.ledger.dto.TransactionDTO;
+import com.teya.ledger.exception.AccountNotFoundException;
+import com.teya.ledger.exception.HoldNotFoundException;
+import com.teya.ledger.exception.SubmissionNotFoundException;
+import com.teya.ledger.json.TransactionJsonMessageConverter;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.TransactionHistory;
 import com.teya.ledger.service.LedgerService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.net.URI;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
-@RequestMapping("/api/v1/ledger")
+@RequestMapping(LedgerController.BASE_PATH)
 public class LedgerController {
 
+    static final String BASE_PATH = "/api/v1/ledger";
+
     private final LedgerService ledgerService;
+    private final ObjectMapper objectMapper;
 
-    public LedgerController(final LedgerService ledgerService) {
+    public LedgerController(final LedgerService ledgerService, final ObjectMapper objectMapper) {
         this.ledgerService = ledgerService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/accounts")
@@ -28,20 +52,122 @@ public class LedgerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdAccount);
     }
 
+    /**
+     * Creates all the accounts before answering, then streams their IDs back as a JSON array of accounts
+     * without building a DTO for each one.
+     */
+    @PostMapping("/accounts/bulk")
+    public ResponseEntity<StreamingResponseBody> createAccounts(@Valid @RequestBody CreateAccountsRequest request) {
+        List<AccountId> accountIds = ledgerService.createAccounts(request);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                generator.writeStartArray();
+                for (AccountId accountId : accountIds) {
+                    generator.writeStartObject();
+                    generator.writeStringField("accountId", accountId.toString());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/accounts/{accountId}/balance")
     public ResponseEntity<BigDecimal> getBalance(@PathVariable String accountId) {
-        return ResponseEntity.ok(ledgerService.getBalance(accountId));
+        return ResponseEntity.ok(ledgerService.getBalance(parseAccountId(accountId)));
     }
 
+    /**
+     * Written by {@link TransactionJsonMessageConverter} in the form of a list of {@link TransactionDTO}s.
+     */
     @GetMapping("/accounts/{accountId}/transactions")
-    public ResponseEntity<List<TransactionDTO>> getTransactions(@PathVariable String accountId) {
-        return ResponseEntity.ok(ledgerService.getTransactions(accountId));
+    public ResponseEntity<TransactionHistory> getTransactions(@PathVariable String accountId) {
+        return ResponseEntity.ok(ledgerService.getTransactionHistory(parseAccountId(accountId)));
+    }
+
+    /**
+     * Written by {@link TransactionJsonMessageConverter} in the form of an {@link AccountViewDTO}.
+     */
+    @GetMapping("/accounts/{accountId}/view")
+    public ResponseEntity<AccountSnapshot> getAccountView(@PathVariable String accountId,
+                                                          @RequestParam(defaultValue = "0") int offset,
+                                                          @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(ledgerService.getAccountSnapshot(parseAccountId(accountId), offset, limit));
     }
 
     @PostMapping("/accounts/{accountId}/transactions")
     public ResponseEntity<TransactionDTO> createTransaction(@PathVariable String accountId,
                                                             @Valid @RequestBody CreateTransactionRequest request) {
-        TransactionDTO createdTransaction = ledgerService.createTransaction(request, accountId);
+        TransactionDTO createdTransaction = ledgerService.createTransaction(request, parseAccountId(accountId));
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTransaction);
     }
+
+    /**
+     * Answers as soon as the transaction is validated and queued. Its outcome is then read from the submission.
+     */
+    @PostMapping("/accounts/{accountId}/transactions/async")
+    public ResponseEntity<SubmissionDTO> submitTransaction(@PathVariable String accountId,
+                                                           @Valid @RequestBody CreateTransactionRequest request) {
+        SubmissionDTO submission = ledgerService.submitTransaction(request, parseAccountId(accountId));
+        return ResponseEntity.accepted()
+                .location(URI.create(BASE_PATH + "/submissions/" + submission.transaction().id()))
+                .body(submission);
+    }
+
+    /**
+     * Holds the request open, without holding a thread, until the outcome is known or {@code waitMillis} has passed.
+     */
+    @GetMapping("/submissions/{submissionId}")
+    public CompletableFuture<SubmissionDTO> getSubmission(@PathVariable String submissionId,
+                                                          @RequestParam(defaultValue = "0") long waitMillis) {
+        return ledgerService.getSubmission(parseSubmissionId(submissionId), waitMillis);
+    }
+
+    @PostMapping("/accounts/{accountId}/holds")
+    public ResponseEntity<HoldDTO> placeHold(@PathVariable String accountId,
+                                             @Valid @RequestBody CreateHoldRequest request) {
+        HoldDTO placedHold = ledgerService.placeHold(request, parseAccountId(accountId));
+        return ResponseEntity.status(HttpStatus.CREATED).body(placedHold);
+    }
+
+    @PostMapping("/accounts/{accountId}/holds/{holdId}/capture")
+    public ResponseEntity<TransactionDTO> captureHold(@PathVariable String accountId, @PathVariable String holdId,
+                                                      @Valid @RequestBody(required = false) CaptureHoldRequest request) {
+        TransactionDTO capture = ledgerService.captureHold(parseAccountId(accountId), parseHoldId(holdId), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(capture);
+    }
+
+    @PostMapping("/accounts/{accountId}/holds/{holdId}/void")
+    public ResponseEntity<HoldDTO> voidHold(@PathVariable String accountId, @PathVariable String holdId) {
+        return ResponseEntity.ok(ledgerService.voidHold(parseAccountId(accountId), parseHoldId(holdId)));
+    }
+
+    /**
+     * Account IDs are parsed here, once per request. A string that is not a valid ID cannot name an account.
+     */
+    private static AccountId parseAccountId(String accountId) {
+        try {
+            return AccountId.parse(accountId);
+        } catch (IllegalArgumentException e) {
+            throw new AccountNotFoundException(accountId);
+        }
+    }
+
+    private static UUID parseSubmissionId(String submissionId) {
+        try {
+            return UUID.fromString(submissionId);
+        } catch (IllegalArgumentException e) {
+            throw new SubmissionNotFoundException(submissionId);
+        }
+    }
+
+    private static UUID parseHoldId(String holdId) {
+        try {
+            return UUID.fromString(holdId);
+        } catch (IllegalArgumentException e) {
+            throw new HoldNotFoundException(holdId);
+        }
+    }
 }
@@ -0,0 +1,13 @@
+package com.teya.ledger.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record AccountViewDTO(
+        String accountId,
+        long version,
+        BigDecimal balance,
+        BigDecimal availableBalance,
+        int transactionCount,
+        List<TransactionDTO> transactions
+) {}
@@ -0,0 +1,15 @@
+package com.teya.ledger.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+/**
+ * @param amount the amount to capture, at most the held amount; the whole hold is captured when it is not set
+ */
+public record CaptureHoldRequest(
+        @Positive(message = "Amount must be greater than zero")
+        @Digits(integer = 20, fraction = 18, message = "Amount must have at most 20 integer digits and 18 decimal places")
+        BigDecimal amount
+) {}
@@ -0,0 +1,33 @@
+package com.teya.ledger.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CreateAccountsRequest(
+        @NotNull(message = "Count is required")
+        @Min(value = 1, message = "Count must be at least 1")
+        @Max(value = CreateAccountsRequest.MAX_COUNT, message = "Count must be at most " + CreateAccountsRequest.MAX_COUNT)
+        Integer count,
+
+        List<@NotNull(message = "Opening balance is required")
+             @PositiveOrZero(message = "Opening balance cannot be negative")
+             @Digits(integer = 20, fraction = 18, message = "Opening balance must have at most 20 integer digits and 18 decimal places")
+             BigDecimal> openingBalances
+) {
+
+    public static final int MAX_COUNT = 10_000;
+
+    @JsonIgnore
+    @AssertTrue(message = "Opening balances must be given for every account or for none")
+    public boolean isOpeningBalancesSizeValid() {
+        return openingBalances == null || count == null || openingBalances.size() == count;
+    }
+}
@@ -0,0 +1,22 @@
+package com.teya.ledger.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record CreateHoldRequest(
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be greater than zero")
+        @Digits(integer = 20, fraction = 18, message = "Amount must have at most 20 integer digits and 18 decimal places")
+        BigDecimal amount,
+
+        @Positive(message = "Expiry must be greater than zero")
+        @Max(value = CreateHoldRequest.MAX_EXPIRES_IN_SECONDS, message = "Expiry must be at most " + CreateHoldRequest.MAX_EXPIRES_IN_SECONDS + " seconds")
+        Long expiresInSeconds
+) {
+
+    public static final long MAX_EXPIRES_IN_SECONDS = 30L * 24 * 60 * 60;
+}
@@ -1,6 +1,7 @@
 package com.teya.ledger.dto;
 
 import com.teya.ledger.model.TransactionType;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
@@ -9,6 +10,7 @@ import java.math.BigDecimal;
 public record CreateTransactionRequest(
         @NotNull(message = "Amount is required")
         @Positive(message = "Amount must be greater than zero")
+        @Digits(integer = 20, fraction = 18, message = "Amount must have at most 20 integer digits and 18 decimal places")
         BigDecimal amount,
 
         @NotNull(message = "Transaction type is required")
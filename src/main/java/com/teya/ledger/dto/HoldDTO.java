@@ -0,0 +1,13 @@
+package com.teya.ledger.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record HoldDTO(
+        UUID id,
+        String accountId,
+        BigDecimal amount,
+        Instant createdAt,
+        Instant expiresAt
+) {}
@@ -0,0 +1,9 @@
+package com.teya.ledger.dto;
+
+import com.teya.ledger.model.SubmissionStatus;
+
+public record SubmissionDTO(
+        SubmissionStatus status,
+        TransactionDTO transaction,
+        String reason
+) {}
@@ -1,6 +1,6 @@
 package com.teya.ledger.exception;
 
-public class AccountNotFoundException extends RuntimeException {
+public class AccountNotFoundException extends LedgerException {
 
     private static final String DEFAULT_MESSAGE = "Account not found with id: ";
 
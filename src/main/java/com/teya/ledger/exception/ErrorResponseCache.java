@@ -0,0 +1,32 @@
+package com.teya.ledger.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reuses the payload of a rejection while the wall clock stays within the same millisecond,
+ * so that a burst of identical failures does not build and timestamp a new {@link ErrorResponse} each time.
+ */
+final class ErrorResponseCache {
+
+    private final HttpStatus status;
+    private volatile Entry last;
+
+    ErrorResponseCache(HttpStatus status) {
+        this.status = status;
+    }
+
+    ErrorResponse get(String message) {
+        long now = System.currentTimeMillis();
+        Entry entry = last;
+        if (entry != null && entry.millis() == now && entry.response().message().equals(message)) {
+            return entry.response();
+        }
+        ErrorResponse response = new ErrorResponse(status.value(), message, LocalDateTime.now());
+        last = new Entry(now, response);
+        return response;
+    }
+
+    private record Entry(long millis, ErrorResponse response) {}
+}
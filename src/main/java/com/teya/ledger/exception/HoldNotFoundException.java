@@ -0,0 +1,10 @@
+package com.teya.ledger.exception;
+
+public class HoldNotFoundException extends LedgerException {
+
+    private static final String DEFAULT_MESSAGE = "Hold not found with id: ";
+
+    public HoldNotFoundException(String id) {
+        super(DEFAULT_MESSAGE + id);
+    }
+}
@@ -1,6 +1,6 @@
 package com.teya.ledger.exception;
 
-public class InsufficientBalanceException extends RuntimeException {
+public class InsufficientBalanceException extends LedgerException {
 
     private static final String DEFAULT_MESSAGE = "Account has insufficient balance for this transaction";
 
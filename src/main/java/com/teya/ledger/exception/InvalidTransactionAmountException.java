@@ -1,6 +1,6 @@
 package com.teya.ledger.exception;
 
-public class InvalidTransactionAmountException extends RuntimeException {
+public class InvalidTransactionAmountException extends LedgerException {
 
     private static final String DEFAULT_MESSAGE = "Transaction amount must be greater than zero";
 
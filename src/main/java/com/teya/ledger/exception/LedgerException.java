@@ -0,0 +1,14 @@
+package com.teya.ledger.exception;
+
+/**
+ * Base class for expected business-rule failures.
+ * <p>
+ * These are rejections, not bugs, and can make up a large share of traffic, so they are created without
+ * a stack trace and without suppression. That makes them cheap to throw and safe to share as constants.
+ */
+public abstract class LedgerException extends RuntimeException {
+
+    protected LedgerException(String message) {
+        super(message, null, false, false);
+    }
+}
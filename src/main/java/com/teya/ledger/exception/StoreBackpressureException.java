@@ -0,0 +1,14 @@
+package com.teya.ledger.exception;
+
+public class StoreBackpressureException extends LedgerException {
+
+    private static final String DEFAULT_MESSAGE = "Ledger storage is saturated, retry later";
+
+    public StoreBackpressureException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    public StoreBackpressureException(String message) {
+        super(message);
+    }
+}
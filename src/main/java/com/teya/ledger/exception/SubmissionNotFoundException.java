@@ -0,0 +1,10 @@
+package com.teya.ledger.exception;
+
+public class SubmissionNotFoundException extends LedgerException {
+
+    private static final String DEFAULT_MESSAGE = "Submission not found with id: ";
+
+    public SubmissionNotFoundException(String submissionId) {
+        super(DEFAULT_MESSAGE + submissionId);
+    }
+}
@@ -0,0 +1,16 @@
+package com.teya.ledger.hold;
+
+import com.teya.ledger.store.LedgerStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HoldProperties.class)
+public class HoldConfiguration {
+
+    @Bean
+    public HoldExpiry holdExpiry(LedgerStore ledgerStore, HoldProperties properties) {
+        return new HoldExpiry(ledgerStore, properties);
+    }
+}
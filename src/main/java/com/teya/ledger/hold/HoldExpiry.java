@@ -0,0 +1,133 @@
+package com.teya.ledger.hold;
+
+import com.teya.ledger.exception.StoreBackpressureException;
+import com.teya.ledger.model.Hold;
+import com.teya.ledger.store.LedgerStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Releases holds once they expire, from a {@link TimingWheel} advanced by a single background thread.
+ * <p>
+ * Request threads only hand new holds over through a lock-free queue, which the background thread drains into the
+ * wheel on each tick, so scheduling a hold never waits on expiry work. A hold that is captured or voided first stays
+ * in the wheel until its deadline and is then skipped, since releasing it again finds nothing to release.
+ * The background thread is started by the first hold scheduled.
+ */
+public class HoldExpiry implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldExpiry.class);
+
+    private static final int SLOT_BITS = 6;
+    private static final int LEVELS = 5;
+
+    private final LedgerStore ledgerStore;
+    private final Duration defaultExpiry;
+    private final long tickMillis;
+    private final LongSupplier clock;
+    private final Queue<Hold> scheduled = new ConcurrentLinkedQueue<>();
+    private final TimingWheel<Hold> wheel;
+    // Guards starting and stopping the scheduler only, so a request thread starting it never waits on an advance.
+    private final Object lifecycle = new Object();
+    private volatile ScheduledExecutorService scheduler;
+    private volatile boolean closed;
+
+    public HoldExpiry(LedgerStore ledgerStore, HoldProperties properties) {
+        this(ledgerStore, properties, System::currentTimeMillis);
+    }
+
+    HoldExpiry(LedgerStore ledgerStore, HoldProperties properties, LongSupplier clock) {
+        this.ledgerStore = ledgerStore;
+        this.defaultExpiry = properties.defaultExpiry();
+        this.tickMillis = properties.tick().toMillis();
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(tickMillis, SLOT_BITS, LEVELS, clock.getAsLong());
+        ledgerStore.forEachHold(this::schedule);
+    }
+
+    public Duration defaultExpiry() {
+        return defaultExpiry;
+    }
+
+    /**
+     * Arranges for the hold to be released at its expiry, unless it is captured or voided first.
+     */
+    public void schedule(Hold hold) {
+        scheduled.add(hold);
+        if (scheduler == null) {
+            start();
+        }
+    }
+
+    /**
+     * Moves newly scheduled holds into the wheel and releases every hold whose expiry has passed.
+     * A release refused by store backpressure is retried on the next tick.
+     *
+     * @return the number of holds released
+     */
+    public synchronized int advance() {
+        for (Hold hold; (hold = scheduled.poll()) != null; ) {
+            wheel.add(hold.expiresAt().toEpochMilli(), hold);
+        }
+        long now = clock.getAsLong();
+        List<Hold> expired = new ArrayList<>();
+        wheel.advanceTo(now, expired::add);
+        int released = 0;
+        for (Hold hold : expired) {
+            try {
+                if (ledgerStore.releaseHold(hold.accountId(), hold.id()) != null) {
+                    released++;
+                }
+            } catch (StoreBackpressureException e) {
+                wheel.add(now + tickMillis, hold);
+            }
+        }
+        return released;
+    }
+
+    @Override
+    public void close() {
+        synchronized (lifecycle) {
+            closed = true;
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+        }
+    }
+
+    private void start() {
+        synchronized (lifecycle) {
+            if (scheduler != null || closed) {
+                return;
+            }
+            ScheduledExecutorService started = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ledger-hold-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            started.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+            scheduler = started;
+        }
+    }
+
+    private void tick() {
+        try {
+            int released = advance();
+            if (released > 0) {
+                log.debug("Released {} expired holds", released);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Hold expiry failed, will retry on the next tick", e);
+        }
+    }
+}
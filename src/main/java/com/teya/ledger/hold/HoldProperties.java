@@ -0,0 +1,19 @@
+package com.teya.ledger.hold;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param defaultExpiry how long a hold stays outstanding when the request does not say
+ * @param tick          the expiry resolution: a hold is released at most one tick after it expires
+ */
+@ConfigurationProperties(prefix = "ledger.holds")
+public record HoldProperties(
+        @DefaultValue("7d") Duration defaultExpiry,
+        @DefaultValue("100ms") Duration tick
+) {
+
+    public static final HoldProperties DEFAULTS = new HoldProperties(Duration.ofDays(7), Duration.ofMillis(100));
+}
@@ -0,0 +1,132 @@
+package com.teya.ledger.hold;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: {@code levels} wheels of {@code 2^slotBits} slots each, where a slot on level {@code i}
+ * covers {@code 2^(slotBits * i)} ticks. An entry is linked into the coarsest slot that still tells it apart from
+ * the current tick, and moves down one or more levels each time the wheel above it turns over, until it reaches the
+ * bottom level and fires on its tick. Adding an entry is O(1) and so is each of its at most {@code levels - 1} moves,
+ * whatever the number of entries. Entries beyond the top level's range wait in its furthest slot and are placed
+ * again each time that slot comes round.
+ * <p>
+ * Not thread-safe: one thread adds entries and advances the wheel.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int slotBits;
+    private final int mask;
+    private final Node<T>[][] slots;
+    private final long range;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int slotBits, int levels, long startMillis) {
+        if (tickMillis <= 0 || slotBits <= 0 || levels <= 0 || (long) slotBits * levels >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timing wheel of " + levels + " levels of " + slotBits + " bits");
+        }
+        this.tickMillis = tickMillis;
+        this.slotBits = slotBits;
+        this.mask = (1 << slotBits) - 1;
+        this.slots = new Node[levels][1 << slotBits];
+        this.range = 1L << (slotBits * levels);
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code item} to fire on the first advance that reaches {@code deadlineMillis}. An item whose deadline
+     * has already passed fires on the next tick.
+     */
+    void add(long deadlineMillis, T item) {
+        place(new Node<>(deadlineMillis / tickMillis + (deadlineMillis % tickMillis == 0 ? 0 : 1), item), currentTick + 1);
+        size++;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis}, passing every item whose deadline it reaches to {@code expired}.
+     *
+     * @return the number of items that expired
+     */
+    int advanceTo(long nowMillis, Consumer<T> expired) {
+        long targetTick = nowMillis / tickMillis;
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return 0;
+        }
+        int fired = 0;
+        while (currentTick < targetTick) {
+            long tick = ++currentTick;
+            // Cascade the upper levels first, so that entries moving down land in slots that are still to be visited.
+            for (int level = slots.length - 1; level > 0; level--) {
+                if ((tick & ((1L << (slotBits * level)) - 1)) == 0) {
+                    Node<T> node = detach(level, (int) (tick >>> (slotBits * level)) & mask);
+                    while (node != null) {
+                        Node<T> next = node.next;
+                        place(node, tick);
+                        node = next;
+                    }
+                }
+            }
+            Node<T> node = detach(0, (int) tick & mask);
+            while (node != null) {
+                Node<T> next = node.next;
+                if (node.deadlineTick > tick) {
+                    // Only an entry beyond the range of a single-level wheel reaches the bottom early.
+                    place(node, tick + 1);
+                } else {
+                    size--;
+                    fired++;
+                    expired.accept(node.item);
+                }
+                node = next;
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * @return the number of items that have not fired yet
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Links the node into its slot, treating a deadline before {@code earliestTick} as due on that tick.
+     */
+    private void place(Node<T> node, long earliestTick) {
+        long tick = Math.max(node.deadlineTick, earliestTick);
+        long delta = tick - currentTick;
+        if (delta >= range) {
+            tick = currentTick + range - 1;
+            delta = range - 1;
+        }
+        int level = 0;
+        while (delta >= 1L << (slotBits * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (tick >>> (slotBits * level)) & mask;
+        node.next = slots[level][slot];
+        slots[level][slot] = node;
+    }
+
+    private Node<T> detach(int level, int slot) {
+        Node<T> head = slots[level][slot];
+        slots[level][slot] = null;
+        return head;
+    }
+
+    private static final class Node<T> {
+
+        private final long deadlineTick;
+        private final T item;
+        private Node<T> next;
+
+        private Node(long deadlineTick, T item) {
+            this.deadlineTick = deadlineTick;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.teya.ledger.id;
+
+import java.util.UUID;
+
+/**
+ * Source of unique IDs for accounts and transactions.
+ */
+public interface IdGenerator {
+
+    UUID nextId();
+}
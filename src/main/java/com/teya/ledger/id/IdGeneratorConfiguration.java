@@ -0,0 +1,15 @@
+package com.teya.ledger.id;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IdGeneratorProperties.class)
+public class IdGeneratorConfiguration {
+
+    @Bean
+    public IdGenerator idGenerator(IdGeneratorProperties properties) {
+        return properties.node() == null ? TimeOrderedIdGenerator.shared() : new TimeOrderedIdGenerator(properties.node());
+    }
+}
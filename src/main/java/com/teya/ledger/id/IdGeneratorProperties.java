@@ -0,0 +1,9 @@
+package com.teya.ledger.id;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param node this instance's node number, from 0 to 1023; picked at random on startup when not set
+ */
+@ConfigurationProperties(prefix = "ledger.id")
+public record IdGeneratorProperties(Integer node) {}
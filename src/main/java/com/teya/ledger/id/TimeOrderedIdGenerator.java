@@ -0,0 +1,81 @@
+package com.teya.ledger.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates time-ordered UUIDs (version 7, RFC 9562) without any state shared between threads.
+ * <p>
+ * The top 48 bits hold the Unix time in milliseconds and the 12 bits after the version hold a per-thread counter,
+ * so the IDs one thread generates are strictly increasing, even if the clock steps back or more than 4096 are
+ * generated within a millisecond; the timestamp then runs ahead of the clock until it catches up. IDs from
+ * different threads are ordered to the millisecond. The low bits hold {@value #NODE_BITS} node bits, {@value #LANE_BITS}
+ * bits identifying the generating thread and {@value #RANDOM_BITS} bits from {@link ThreadLocalRandom}, so two
+ * nodes or two threads never need to coordinate to stay unique.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+    static final int NODE_BITS = 10;
+    static final int LANE_BITS = 16;
+    static final int RANDOM_BITS = 62 - NODE_BITS - LANE_BITS;
+
+    private static final int MAX_COUNTER = 0xFFF;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = (1L << RANDOM_BITS) - 1;
+    private static final TimeOrderedIdGenerator SHARED = new TimeOrderedIdGenerator(new SecureRandom().nextInt(1 << NODE_BITS));
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    private final AtomicInteger lanes = new AtomicInteger();
+    private final ThreadLocal<Lane> lane = ThreadLocal.withInitial(() -> new Lane(lanes.getAndIncrement()));
+
+    public TimeOrderedIdGenerator(int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    TimeOrderedIdGenerator(int node, LongSupplier clock) {
+        if (node < 0 || node >= 1 << NODE_BITS) {
+            throw new IllegalArgumentException("Node must be between 0 and " + ((1 << NODE_BITS) - 1));
+        }
+        this.nodeBits = (long) node << (LANE_BITS + RANDOM_BITS);
+        this.clock = clock;
+    }
+
+    /**
+     * @return a generator with a node picked at random when the class is loaded, shared across the process
+     */
+    public static TimeOrderedIdGenerator shared() {
+        return SHARED;
+    }
+
+    @Override
+    public UUID nextId() {
+        Lane lane = this.lane.get();
+        long now = clock.getAsLong();
+        if (now > lane.millis) {
+            lane.millis = now;
+            lane.counter = 0;
+        } else if (++lane.counter > MAX_COUNTER) {
+            lane.millis++;
+            lane.counter = 0;
+        }
+        long mostSigBits = (lane.millis << 16) | VERSION | lane.counter;
+        long leastSigBits = VARIANT | nodeBits | lane.bits | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static final class Lane {
+
+        private final long bits;
+        private long millis = -1;
+        private int counter;
+
+        private Lane(int lane) {
+            this.bits = (long) (lane & ((1 << LANE_BITS) - 1)) << RANDOM_BITS;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.teya.ledger.json;
+
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.TransactionHistory;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes transaction history responses with a {@link TransactionJsonWriter} instead of mapping them to DTOs for
+ * Jackson. Each request thread keeps its own writer, and with it its buffer. Registered ahead of Jackson, and only
+ * for the model types the history endpoints return, so every other body is still written by Jackson.
+ */
+@Component
+public class TransactionJsonMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final ThreadLocal<TransactionJsonWriter> WRITERS = ThreadLocal.withInitial(TransactionJsonWriter::new);
+
+    public TransactionJsonMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == TransactionHistory.class || clazz == AccountSnapshot.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Transaction history cannot be read from a request", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        TransactionJsonWriter writer = WRITERS.get();
+        if (body instanceof AccountSnapshot snapshot) {
+            writer.writeAccountView(snapshot, outputMessage.getBody());
+        } else {
+            writer.writeTransactions(((TransactionHistory) body).transactions(), outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.teya.ledger.json;
+
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes stored transactions as JSON, byte for byte as Jackson writes the matching {@code TransactionDTO}s and
+ * {@code AccountViewDTO}, without building either. IDs are written as hex straight from their two longs, timestamps
+ * are formatted field by field in the form of {@link Instant#toString()}, and amounts reuse the string each
+ * {@link BigDecimal} caches after its first {@code toString()}. Output is gathered in a buffer that the writer keeps
+ * from one response to the next.
+ * <p>
+ * Not thread-safe: each thread writes with its own writer.
+ */
+public final class TransactionJsonWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int UUID_LENGTH = 36;
+    // Longer than any timestamp or long that is formatted here.
+    private static final int MAX_NUMBER_LENGTH = 32;
+    // 10000-01-01T00:00:00Z, from which Instant#toString() prefixes the year with a sign.
+    private static final long MAX_FORMATTED_EPOCH_SECOND = 253_402_300_800L;
+    private static final int SECONDS_PER_DAY = 86_400;
+    // Days from 0000-03-01 to 1970-01-01, for the civil-from-days conversion below.
+    private static final long DAYS_0000_03_01_TO_1970 = 719_468;
+
+    private static final byte[] HEX = ascii("0123456789abcdef");
+    private static final byte[] TRANSACTION_ID = ascii("{\"id\":\"");
+    private static final byte[] TRANSACTION_ACCOUNT_ID = ascii("\",\"accountId\":\"");
+    private static final byte[] TRANSACTION_AMOUNT = ascii("\",\"amount\":");
+    private static final byte[] TRANSACTION_TYPE = ascii(",\"type\":\"");
+    private static final byte[] TRANSACTION_TIMESTAMP = ascii("\",\"timestamp\":\"");
+    private static final byte[] TRANSACTION_END = ascii("\"}");
+    private static final byte[] VIEW_ACCOUNT_ID = ascii("{\"accountId\":\"");
+    private static final byte[] VIEW_VERSION = ascii("\",\"version\":");
+    private static final byte[] VIEW_BALANCE = ascii(",\"balance\":");
+    private static final byte[] VIEW_AVAILABLE_BALANCE = ascii(",\"availableBalance\":");
+    private static final byte[] VIEW_TRANSACTION_COUNT = ascii(",\"transactionCount\":");
+    private static final byte[] VIEW_TRANSACTIONS = ascii(",\"transactions\":");
+    private static final byte[][] TYPE_NAMES = typeNames();
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private OutputStream out;
+
+    /**
+     * Writes the transactions as a JSON array, in the order given.
+     */
+    public void writeTransactions(List<Transaction> transactions, OutputStream out) throws IOException {
+        this.out = out;
+        try {
+            writeArray(transactions);
+            flush();
+        } finally {
+            this.out = null;
+            position = 0;
+        }
+    }
+
+    /**
+     * Writes the snapshot as a JSON object with the fields of an account view.
+     */
+    public void writeAccountView(AccountSnapshot snapshot, OutputStream out) throws IOException {
+        this.out = out;
+        try {
+            write(VIEW_ACCOUNT_ID);
+            writeId(snapshot.accountId().mostSigBits(), snapshot.accountId().leastSigBits());
+            write(VIEW_VERSION);
+            writeLong(snapshot.version());
+            write(VIEW_BALANCE);
+            writeAscii(snapshot.balance().toString());
+            write(VIEW_AVAILABLE_BALANCE);
+            writeAscii(snapshot.availableBalance().toString());
+            write(VIEW_TRANSACTION_COUNT);
+            writeLong(snapshot.transactionCount());
+            write(VIEW_TRANSACTIONS);
+            writeArray(snapshot.transactions());
+            writeByte('}');
+            flush();
+        } finally {
+            this.out = null;
+            position = 0;
+        }
+    }
+
+    private void writeArray(List<Transaction> transactions) throws IOException {
+        writeByte('[');
+        for (int i = 0, size = transactions.size(); i < size; i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeTransaction(transactions.get(i));
+        }
+        writeByte(']');
+    }
+
+    private void writeTransaction(Transaction transaction) throws IOException {
+        UUID id = transaction.id();
+        AccountId accountId = transaction.accountId();
+        write(TRANSACTION_ID);
+        writeId(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        write(TRANSACTION_ACCOUNT_ID);
+        writeId(accountId.mostSigBits(), accountId.leastSigBits());
+        write(TRANSACTION_AMOUNT);
+        writeAscii(transaction.amount().toString());
+        write(TRANSACTION_TYPE);
+        write(TYPE_NAMES[transaction.type().ordinal()]);
+        write(TRANSACTION_TIMESTAMP);
+        writeTimestamp(transaction.timestamp());
+        write(TRANSACTION_END);
+    }
+
+    /**
+     * Writes the canonical UUID form, {@code xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx}, in lower case.
+     */
+    private void writeId(long mostSigBits, long leastSigBits) throws IOException {
+        ensure(UUID_LENGTH);
+        writeHex(mostSigBits >>> 32, 8);
+        buffer[position++] = '-';
+        writeHex(mostSigBits >>> 16, 4);
+        buffer[position++] = '-';
+        writeHex(mostSigBits, 4);
+        buffer[position++] = '-';
+        writeHex(leastSigBits >>> 48, 4);
+        buffer[position++] = '-';
+        writeHex(leastSigBits, 12);
+    }
+
+    private void writeHex(long bits, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[position + i] = HEX[(int) bits & 0xf];
+            bits >>>= 4;
+        }
+        position += digits;
+    }
+
+    /**
+     * Writes the ISO-8601 form of {@link Instant#toString()}: seconds always, and the fraction of a second, if any,
+     * in three, six or nine digits. Instants outside years 1970 to 9999 are left to {@code toString()}.
+     */
+    private void writeTimestamp(Instant timestamp) throws IOException {
+        long epochSecond = timestamp.getEpochSecond();
+        if (epochSecond < 0 || epochSecond >= MAX_FORMATTED_EPOCH_SECOND) {
+            writeAscii(timestamp.toString());
+            return;
+        }
+        ensure(MAX_NUMBER_LENGTH);
+        int secondOfDay = (int) (epochSecond % SECONDS_PER_DAY);
+
+        // Civil-from-days over 400-year eras that start on 1 March, so that the leap day ends the year.
+        long dayOfEras = epochSecond / SECONDS_PER_DAY + DAYS_0000_03_01_TO_1970;
+        long era = dayOfEras / 146_097;
+        int dayOfEra = (int) (dayOfEras - era * 146_097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (era * 400) + yearOfEra + (month <= 2 ? 1 : 0);
+
+        writeDigits(year, 4);
+        buffer[position++] = '-';
+        writeDigits(month, 2);
+        buffer[position++] = '-';
+        writeDigits(day, 2);
+        buffer[position++] = 'T';
+        writeDigits(secondOfDay / 3600, 2);
+        buffer[position++] = ':';
+        writeDigits(secondOfDay / 60 % 60, 2);
+        buffer[position++] = ':';
+        writeDigits(secondOfDay % 60, 2);
+        int nano = timestamp.getNano();
+        if (nano != 0) {
+            buffer[position++] = '.';
+            if (nano % 1_000_000 == 0) {
+                writeDigits(nano / 1_000_000, 3);
+            } else if (nano % 1000 == 0) {
+                writeDigits(nano / 1000, 6);
+            } else {
+                writeDigits(nano, 9);
+            }
+        }
+        buffer[position++] = 'Z';
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensure(MAX_NUMBER_LENGTH);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+            digits++;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[position + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    /**
+     * Writes {@code value} zero-padded to exactly {@code digits} digits.
+     */
+    private void writeDigits(int value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[position + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    /**
+     * Writes a string known to hold only ASCII characters, such as a formatted number.
+     */
+    private void writeAscii(String value) throws IOException {
+        int length = value.length();
+        int from = 0;
+        while (from < length) {
+            if (position == buffer.length) {
+                flush();
+            }
+            int to = Math.min(length, from + buffer.length - position);
+            for (int i = from; i < to; i++) {
+                buffer[position++] = (byte) value.charAt(i);
+            }
+            from = to;
+        }
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (position + length > buffer.length) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] typeNames() {
+        TransactionType[] types = TransactionType.values();
+        byte[][] names = new byte[types.length][];
+        for (TransactionType type : types) {
+            names[type.ordinal()] = ascii(type.name());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,23 @@
+package com.teya.ledger.mapper;
+
+import com.teya.ledger.dto.AccountViewDTO;
+import com.teya.ledger.model.AccountSnapshot;
+
+public class AccountSnapshotMapper {
+
+    public static AccountViewDTO toDto(AccountSnapshot snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+        return new AccountViewDTO(
+                snapshot.accountId().toString(),
+                snapshot.version(),
+                snapshot.balance(),
+                snapshot.availableBalance(),
+                snapshot.transactionCount(),
+                snapshot.transactions().stream()
+                        .map(TransactionMapper::toDto)
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.teya.ledger.mapper;
+
+import com.teya.ledger.dto.HoldDTO;
+import com.teya.ledger.model.Hold;
+
+public class HoldMapper {
+
+    public static HoldDTO toDto(Hold hold) {
+        if (hold == null) {
+            return null;
+        }
+        return new HoldDTO(
+                hold.id(),
+                hold.accountId().toString(),
+                hold.amount(),
+                hold.createdAt(),
+                hold.expiresAt()
+        );
+    }
+}
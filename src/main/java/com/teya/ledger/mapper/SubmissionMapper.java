@@ -0,0 +1,18 @@
+package com.teya.ledger.mapper;
+
+import com.teya.ledger.dto.SubmissionDTO;
+import com.teya.ledger.model.Submission;
+
+public class SubmissionMapper {
+
+    public static SubmissionDTO toDto(Submission submission) {
+        if (submission == null) {
+            return null;
+        }
+        return new SubmissionDTO(
+                submission.status(),
+                TransactionMapper.toDto(submission.transaction()),
+                submission.reason()
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package com.teya.ledger.mapper;
 
 import com.teya.ledger.dto.TransactionDTO;
+import com.teya.ledger.model.AccountId;
 import com.teya.ledger.model.Transaction;
 
 public class TransactionMapper {
@@ -11,7 +12,7 @@ public class TransactionMapper {
         }
         return new TransactionDTO(
                 transaction.id(),
-                transaction.accountId(),
+                transaction.accountId().toString(),
                 transaction.amount(),
                 transaction.type(),
                 transaction.timestamp()
@@ -24,7 +25,7 @@ public class TransactionMapper {
         }
         return new Transaction(
                 transactionDTO.id(),
-                transactionDTO.accountId(),
+                AccountId.parse(transactionDTO.accountId()),
                 transactionDTO.amount(),
                 transactionDTO.type(),
                 transactionDTO.timestamp()
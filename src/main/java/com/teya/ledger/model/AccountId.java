@@ -0,0 +1,54 @@
+package com.teya.ledger.model;
+
+import java.util.UUID;
+
+/**
+ * A 128-bit account ID, held as two longs rather than as its 36-character string form.
+ */
+public record AccountId(long mostSigBits, long leastSigBits) {
+
+    private static final int CANONICAL_LENGTH = 36;
+
+    public static AccountId of(UUID uuid) {
+        return new AccountId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Parses the canonical UUID form, {@code xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx}, in either case.
+     *
+     * @throws IllegalArgumentException if {@code value} is not in that form
+     */
+    public static AccountId parse(String value) {
+        if (value.length() != CANONICAL_LENGTH || value.charAt(8) != '-' || value.charAt(13) != '-'
+                || value.charAt(18) != '-' || value.charAt(23) != '-') {
+            throw new IllegalArgumentException("Invalid account id: " + value);
+        }
+        long mostSigBits = hex(value, 0, 8) << 32 | hex(value, 9, 13) << 16 | hex(value, 14, 18);
+        long leastSigBits = hex(value, 19, 23) << 48 | hex(value, 24, 36);
+        return new AccountId(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public String toString() {
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    private static long hex(String value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else if (c >= 'A' && c <= 'F') {
+                digit = c - 'A' + 10;
+            } else {
+                throw new IllegalArgumentException("Invalid account id: " + value);
+            }
+            result = result << 4 | digit;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package com.teya.ledger.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Balance and a page of history taken from the same version of an account.
+ *
+ * @param availableBalance the balance less every outstanding hold
+ * @param transactions     the requested page of the history, most recent first
+ */
+public record AccountSnapshot(
+        AccountId accountId,
+        long version,
+        BigDecimal balance,
+        BigDecimal availableBalance,
+        int transactionCount,
+        List<Transaction> transactions
+) {}
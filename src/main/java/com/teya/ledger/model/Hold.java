@@ -0,0 +1,19 @@
+package com.teya.ledger.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Funds reserved on an account ahead of a capture. While a hold is outstanding its amount is not available
+ * to withdrawals or to other holds.
+ *
+ * @param expiresAt when the hold is released on its own if it has been neither captured nor voided
+ */
+public record Hold(
+        UUID id,
+        AccountId accountId,
+        BigDecimal amount,
+        Instant createdAt,
+        Instant expiresAt
+) {}
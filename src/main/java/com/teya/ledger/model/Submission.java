@@ -0,0 +1,13 @@
+package com.teya.ledger.model;
+
+/**
+ * Outcome of a transaction submitted for asynchronous application. The submission is known by the transaction's ID.
+ *
+ * @param transaction the transaction as submitted
+ * @param reason      why the transaction was rejected; {@code null} unless it was
+ */
+public record Submission(
+        SubmissionStatus status,
+        Transaction transaction,
+        String reason
+) {}
@@ -0,0 +1,7 @@
+package com.teya.ledger.model;
+
+public enum SubmissionStatus {
+    PENDING,
+    COMMITTED,
+    REJECTED
+}
@@ -1,17 +1,19 @@
 package com.teya.ledger.model;
 
+import com.teya.ledger.id.TimeOrderedIdGenerator;
+
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
 public record Transaction(
         UUID id,
-        String accountId,
+        AccountId accountId,
         BigDecimal amount,
         TransactionType type,
         Instant timestamp
 ) {
-    public Transaction(String accountId, BigDecimal amount, TransactionType type) {
-        this(UUID.randomUUID(), accountId, amount, type, Instant.now());
+    public Transaction(AccountId accountId, BigDecimal amount, TransactionType type) {
+        this(TimeOrderedIdGenerator.shared().nextId(), accountId, amount, type, Instant.now());
     }
 }
@@ -0,0 +1,8 @@
+package com.teya.ledger.model;
+
+import java.util.List;
+
+/**
+ * An account's transactions as stored, most recent first.
+ */
+public record TransactionHistory(List<Transaction> transactions) {}
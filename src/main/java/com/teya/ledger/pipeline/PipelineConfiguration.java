@@ -0,0 +1,16 @@
+package com.teya.ledger.pipeline;
+
+import com.teya.ledger.store.LedgerStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PipelineProperties.class)
+public class PipelineConfiguration {
+
+    @Bean
+    public TransactionPipeline transactionPipeline(LedgerStore ledgerStore, PipelineProperties properties) {
+        return new TransactionPipeline(ledgerStore, properties);
+    }
+}
@@ -0,0 +1,24 @@
+package com.teya.ledger.pipeline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxInFlight     how many submissions can be waiting to be applied; beyond that new ones are refused
+ * @param retained        how many outcomes are kept after they are known, at least; older ones can no longer be looked up
+ * @param maxStoreWait    how long a submission waits for a saturated store before it is rejected
+ * @param shutdownTimeout how long closing the pipeline waits for the submissions still in flight
+ */
+@ConfigurationProperties(prefix = "ledger.pipeline")
+public record PipelineProperties(
+        @DefaultValue("65536") int maxInFlight,
+        @DefaultValue("65536") int retained,
+        @DefaultValue("5s") Duration maxStoreWait,
+        @DefaultValue("30s") Duration shutdownTimeout
+) {
+
+    public static final PipelineProperties DEFAULTS =
+            new PipelineProperties(65536, 65536, Duration.ofSeconds(5), Duration.ofSeconds(30));
+}
@@ -0,0 +1,240 @@
+package com.teya.ledger.pipeline;
+
+import com.teya.ledger.exception.InsufficientBalanceException;
+import com.teya.ledger.exception.LedgerException;
+import com.teya.ledger.exception.StoreBackpressureException;
+import com.teya.ledger.model.Submission;
+import com.teya.ledger.model.SubmissionStatus;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.store.LedgerStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Applies submitted transactions in the background, one at a time, in the order of the sequence numbers they were
+ * given when they were submitted.
+ * <p>
+ * Submissions are written into a ring indexed by sequence number. A single applier thread walks the ring in order and
+ * completes each submission's outcome once the store has applied or rejected it; it parks when it catches up, and the
+ * next submitter wakes it. At most {@code maxInFlight} submissions can be waiting, so a slot is only reused once its
+ * outcome is known, and each outcome stays readable until at least {@code retained} later submissions have been made.
+ * The applier thread is started by the first submission.
+ * <p>
+ * Sequence numbers stay internal: they restart with every pipeline and follow one another, so anyone could list the
+ * outcomes by counting. Outcomes are looked up by the ID of the submitted transaction instead, which cannot be guessed.
+ */
+public class TransactionPipeline implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPipeline.class);
+
+    private static final StoreBackpressureException SATURATED =
+            new StoreBackpressureException("Too many submissions in flight, retry later");
+    private static final String INSUFFICIENT_BALANCE = new InsufficientBalanceException().getMessage();
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final LedgerStore ledgerStore;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicReferenceArray<Slot> ring;
+    private final Map<UUID, Slot> slotsById = new ConcurrentHashMap<>();
+    private final int mask;
+    private final long maxStoreWaitNanos;
+    private final long shutdownTimeoutNanos;
+    // Guards starting and stopping the applier only.
+    private final Object lifecycle = new Object();
+    private volatile Thread applier;
+    private volatile boolean applierParked;
+    private volatile boolean running = true;
+
+    public TransactionPipeline(LedgerStore ledgerStore, PipelineProperties properties) {
+        long slots = (long) properties.maxInFlight() + properties.retained();
+        if (properties.maxInFlight() <= 0 || properties.retained() < 0 || slots > 1 << 30) {
+            throw new IllegalArgumentException("Invalid pipeline of " + properties.maxInFlight() + " in flight and "
+                    + properties.retained() + " retained");
+        }
+        int capacity = Integer.highestOneBit((int) Math.max(1, slots - 1)) << 1;
+        this.ledgerStore = ledgerStore;
+        this.maxInFlight = properties.maxInFlight();
+        this.inFlight = new Semaphore(maxInFlight);
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.maxStoreWaitNanos = properties.maxStoreWait().toNanos();
+        this.shutdownTimeoutNanos = properties.shutdownTimeout().toNanos();
+    }
+
+    /**
+     * Queues the transaction to be applied after every transaction submitted before it.
+     *
+     * @return the ID to look the submission's outcome up by, which is the transaction's
+     * @throws StoreBackpressureException if {@code maxInFlight} submissions are already waiting, or the pipeline is closed
+     */
+    public UUID submit(Transaction transaction) {
+        // The permit is taken before the pipeline is checked for closing: either the submission sees the pipeline
+        // closed and gives the permit back, or the applier sees the permit taken and waits for the submission.
+        if (!inFlight.tryAcquire()) {
+            throw SATURATED;
+        }
+        if (!running) {
+            inFlight.release();
+            throw SATURATED;
+        }
+        long sequence = claimed.incrementAndGet();
+        Slot slot = new Slot(sequence, transaction);
+        slotsById.put(transaction.id(), slot);
+        // The slot replaced is at least maxInFlight + retained submissions old: its outcome is known and can be let go.
+        Slot replaced = ring.getAndSet(index(sequence), slot);
+        if (replaced != null) {
+            slotsById.remove(replaced.transaction.id(), replaced);
+        }
+        Thread thread = applier;
+        if (thread == null) {
+            start();
+        } else if (applierParked) {
+            LockSupport.unpark(thread);
+        }
+        return transaction.id();
+    }
+
+    /**
+     * @return the submission's outcome, completing once it is known or, after {@code wait}, with a
+     * {@link SubmissionStatus#PENDING PENDING} one; {@code null} if no submission with this ID is retained
+     */
+    public CompletableFuture<Submission> outcome(UUID id, Duration wait) {
+        Slot slot = slotsById.get(id);
+        if (slot == null) {
+            return null;
+        }
+        if (slot.outcome.isDone()) {
+            return slot.outcome.copy();
+        }
+        Submission pending = new Submission(SubmissionStatus.PENDING, slot.transaction, null);
+        if (wait.isZero() || wait.isNegative()) {
+            return CompletableFuture.completedFuture(pending);
+        }
+        return slot.outcome.copy().completeOnTimeout(pending, wait.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops taking submissions and waits until every one already taken has been applied, for at most
+     * {@code shutdownTimeout}.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        Thread thread;
+        synchronized (lifecycle) {
+            running = false;
+            thread = applier;
+        }
+        long deadline = System.nanoTime() + shutdownTimeoutNanos;
+        // A first submission taken just before closing may not have started the applier yet.
+        while (thread == null && inFlight.availablePermits() < maxInFlight && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(this, RETRY_BACKOFF_NANOS);
+            thread = applier;
+        }
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        if (thread.isAlive()) {
+            log.warn("Gave up waiting for {} submissions to be applied", maxInFlight - inFlight.availablePermits());
+        }
+    }
+
+    /**
+     * Also starts the applier after closing, for a submission taken just before: it applies what was taken and stops.
+     */
+    private void start() {
+        synchronized (lifecycle) {
+            if (applier != null) {
+                return;
+            }
+            Thread thread = new Thread(this::runApplier, "ledger-transaction-pipeline");
+            thread.setDaemon(true);
+            applier = thread;
+            thread.start();
+        }
+    }
+
+    private void runApplier() {
+        long next = 1;
+        while (true) {
+            Slot slot = ring.get(index(next));
+            if (slot == null || slot.sequence != next) {
+                // Every permit is back only once every submission taken has been applied.
+                if (!running && inFlight.availablePermits() == maxInFlight) {
+                    return;
+                }
+                park(next);
+                continue;
+            }
+            slot.outcome.complete(apply(slot));
+            inFlight.release();
+            next++;
+        }
+    }
+
+    /**
+     * Parks until woken by a submitter. The flag is raised before the slot is checked again, and a submitter
+     * publishes its slot before it reads the flag, so a submission cannot slip in between unnoticed.
+     */
+    private void park(long next) {
+        applierParked = true;
+        Slot slot = ring.get(index(next));
+        if ((slot == null || slot.sequence != next) && running) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        applierParked = false;
+    }
+
+    private Submission apply(Slot slot) {
+        long deadline = System.nanoTime() + maxStoreWaitNanos;
+        while (true) {
+            try {
+                boolean applied = ledgerStore.append(slot.transaction);
+                return new Submission(applied ? SubmissionStatus.COMMITTED : SubmissionStatus.REJECTED,
+                        slot.transaction, applied ? null : INSUFFICIENT_BALANCE);
+            } catch (StoreBackpressureException e) {
+                // The submission was already accepted, so the store is waited on for a while before it is refused.
+                if (System.nanoTime() - deadline >= 0) {
+                    return new Submission(SubmissionStatus.REJECTED, slot.transaction, e.getMessage());
+                }
+                LockSupport.parkNanos(this, RETRY_BACKOFF_NANOS);
+            } catch (LedgerException e) {
+                return new Submission(SubmissionStatus.REJECTED, slot.transaction, e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("Failed to apply submission {}", slot.transaction.id(), e);
+                return new Submission(SubmissionStatus.REJECTED, slot.transaction, "Internal server error");
+            }
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+
+    private static final class Slot {
+
+        private final long sequence;
+        private final Transaction transaction;
+        private final CompletableFuture<Submission> outcome = new CompletableFuture<>();
+
+        private Slot(long sequence, Transaction transaction) {
+            this.sequence = sequence;
+            this.transaction = transaction;
+        }
+    }
+}
@@ -1,78 +1,281 @@
 package com.teya.ledger.service;
 
 import com.teya.ledger.dto.AccountDTO;
+import com.teya.ledger.dto.CaptureHoldRequest;
+import com.teya.ledger.dto.CreateAccountsRequest;
+import com.teya.ledger.dto.CreateHoldRequest;
 import com.teya.ledger.dto.CreateTransactionRequest;
+import com.teya.ledger.dto.HoldDTO;
+import com.teya.ledger.dto.SubmissionDTO;
 import com.teya.ledger.dto.TransactionDTO;
 import com.teya.ledger.exception.AccountNotFoundException;
+import com.teya.ledger.exception.HoldNotFoundException;
 import com.teya.ledger.exception.InsufficientBalanceException;
 import com.teya.ledger.exception.InvalidTransactionAmountException;
+import com.teya.ledger.exception.SubmissionNotFoundException;
+import com.teya.ledger.hold.HoldExpiry;
+import com.teya.ledger.id.IdGenerator;
+import com.teya.ledger.mapper.HoldMapper;
+import com.teya.ledger.mapper.SubmissionMapper;
 import com.teya.ledger.mapper.TransactionMapper;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.Hold;
+import com.teya.ledger.model.Submission;
+import com.teya.ledger.model.SubmissionStatus;
 import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionHistory;
 import com.teya.ledger.model.TransactionType;
+import com.teya.ledger.pipeline.TransactionPipeline;
+import com.teya.ledger.store.LedgerStore;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class LedgerService {
 
-    private final Map<String, List<Transaction>> transactionsByAccount = new ConcurrentHashMap<>();
-    private final Map<String, BigDecimal> balanceByAccount = new ConcurrentHashMap<>();
+    // Rejections carry no stack trace and no per-request state, so the fixed-message ones are shared.
+    private static final InsufficientBalanceException INSUFFICIENT_BALANCE = new InsufficientBalanceException();
+    private static final InvalidTransactionAmountException INVALID_AMOUNT = new InvalidTransactionAmountException();
+    private static final InvalidTransactionAmountException CAPTURE_EXCEEDS_HOLD =
+            new InvalidTransactionAmountException("Capture amount cannot exceed the held amount");
 
-    public BigDecimal getBalance(String accountId) throws AccountNotFoundException {
-        if (balanceByAccount.containsKey(accountId)) {
-            return balanceByAccount.getOrDefault(accountId, BigDecimal.ZERO);
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator.comparing(Transaction::timestamp).reversed();
+
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final long MAX_SUBMISSION_WAIT_MILLIS = 10_000;
+
+    private final LedgerStore ledgerStore;
+    private final IdGenerator idGenerator;
+    private final HoldExpiry holdExpiry;
+    private final TransactionPipeline transactionPipeline;
+
+    /**
+     * The hold expiry and the pipeline each run a background thread; whoever creates them closes them.
+     */
+    public LedgerService(final LedgerStore ledgerStore, final IdGenerator idGenerator, final HoldExpiry holdExpiry,
+                         final TransactionPipeline transactionPipeline) {
+        this.ledgerStore = ledgerStore;
+        this.idGenerator = idGenerator;
+        this.holdExpiry = holdExpiry;
+        this.transactionPipeline = transactionPipeline;
+    }
+
+    public BigDecimal getBalance(AccountId accountId) throws AccountNotFoundException {
+        return ledgerStore.getBalance(accountId);
+    }
+
+    /**
+     * Returns the account's transactions as stored, most recent first, for responses that are written without
+     * mapping them to DTOs.
+     */
+    public TransactionHistory getTransactionHistory(AccountId accountId) throws AccountNotFoundException {
+        return new TransactionHistory(newestFirst(ledgerStore.getTransactions(accountId)));
+    }
+
+    /**
+     * Returns the balance together with a page of the most recent transactions, both from the same version of the
+     * account and as stored, for responses that are written without mapping them to DTOs. Out-of-range paging
+     * arguments are clamped to {@code [0, MAX_PAGE_SIZE]}.
+     */
+    public AccountSnapshot getAccountSnapshot(AccountId accountId, int offset, int limit) throws AccountNotFoundException {
+        int pageSize = Math.min(Math.max(limit, 0), MAX_PAGE_SIZE);
+        return ledgerStore.getSnapshot(accountId, Math.max(offset, 0), pageSize);
+    }
+
+    public TransactionDTO createTransaction(CreateTransactionRequest request, AccountId accountId) throws AccountNotFoundException {
+        if (request.amount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw INVALID_AMOUNT;
         }
-        else throw new AccountNotFoundException(accountId);
+
+        Transaction transaction = new Transaction(idGenerator.nextId(), accountId, request.amount(), request.type(), Instant.now());
+        if (!ledgerStore.append(transaction)) {
+            throw INSUFFICIENT_BALANCE;
+        }
+
+        return TransactionMapper.toDto(transaction);
     }
 
-    public List<TransactionDTO> getTransactions(String accountId) throws AccountNotFoundException {
-        if (transactionsByAccount.containsKey(accountId)) {
-            return transactionsByAccount.getOrDefault(accountId, new ArrayList<>()).stream()
-                    .sorted(Comparator.comparing(Transaction::timestamp).reversed())
-                    .map(TransactionMapper::toDto)
-                    .toList();
+    /**
+     * Validates the transaction and queues it to be applied in the background, without waiting for the outcome.
+     * Accounts are never removed, so one that exists when the transaction is queued still exists when it is applied.
+     *
+     * @return the pending submission, whose outcome is looked up by its transaction's ID
+     */
+    public SubmissionDTO submitTransaction(CreateTransactionRequest request, AccountId accountId) throws AccountNotFoundException {
+        if (request.amount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw INVALID_AMOUNT;
         }
-        else throw new AccountNotFoundException(accountId);
+        ledgerStore.getBalance(accountId);
+
+        Transaction transaction = new Transaction(idGenerator.nextId(), accountId, request.amount(), request.type(), Instant.now());
+        transactionPipeline.submit(transaction);
+
+        return SubmissionMapper.toDto(new Submission(SubmissionStatus.PENDING, transaction, null));
     }
 
-    public TransactionDTO createTransaction(CreateTransactionRequest request, String accountId) throws AccountNotFoundException {
-        if(!transactionsByAccount.containsKey(accountId) || !balanceByAccount.containsKey(accountId)) {
-            throw new AccountNotFoundException(accountId);
+    /**
+     * Looks up the outcome of a submission, waiting up to {@code waitMillis} for it if it is still pending.
+     * The wait is clamped to {@code [0, MAX_SUBMISSION_WAIT_MILLIS]}.
+     *
+     * @return the outcome, which completes without blocking the caller; it is still pending if the wait ran out
+     */
+    public CompletableFuture<SubmissionDTO> getSubmission(UUID submissionId, long waitMillis) {
+        long wait = Math.min(Math.max(waitMillis, 0), MAX_SUBMISSION_WAIT_MILLIS);
+        CompletableFuture<Submission> outcome = transactionPipeline.outcome(submissionId, Duration.ofMillis(wait));
+        if (outcome == null) {
+            throw new SubmissionNotFoundException(submissionId.toString());
         }
-        BigDecimal currentBalance = balanceByAccount.getOrDefault(accountId, BigDecimal.ZERO);
-        Transaction transaction = new Transaction(accountId, request.amount(), request.type());
+        return outcome.thenApply(SubmissionMapper::toDto);
+    }
 
-        if (transaction.amount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new InvalidTransactionAmountException();
+    /**
+     * Sets funds aside on the account until the hold is captured, voided or expires, whichever comes first.
+     */
+    public HoldDTO placeHold(CreateHoldRequest request, AccountId accountId) throws AccountNotFoundException {
+        if (request.amount().compareTo(BigDecimal.ZERO) <= 0) {
+            throw INVALID_AMOUNT;
         }
+        Duration expiry = request.expiresInSeconds() == null
+                ? holdExpiry.defaultExpiry()
+                : Duration.ofSeconds(request.expiresInSeconds());
 
-        if (transaction.type() == TransactionType.WITHDRAWAL && currentBalance.compareTo(transaction.amount()) < 0) {
-            throw new InsufficientBalanceException();
+        Instant now = Instant.now();
+        Hold hold = new Hold(idGenerator.nextId(), accountId, request.amount(), now, now.plus(expiry));
+        if (!ledgerStore.placeHold(hold)) {
+            throw INSUFFICIENT_BALANCE;
         }
+        holdExpiry.schedule(hold);
 
-        BigDecimal newBalance = switch (transaction.type()) {
-            case DEPOSIT -> currentBalance.add(transaction.amount());
-            case WITHDRAWAL -> currentBalance.subtract(transaction.amount());
-        };
+        return HoldMapper.toDto(hold);
+    }
 
-        balanceByAccount.put(accountId, newBalance);
-        transactionsByAccount.computeIfAbsent(accountId, k -> new ArrayList<>()).add(transaction);
+    /**
+     * Turns the hold into a withdrawal of {@code request.amount()}, or of the whole held amount when that is not set.
+     * Whatever part of the hold is not captured is released.
+     */
+    public TransactionDTO captureHold(AccountId accountId, UUID holdId, CaptureHoldRequest request)
+            throws AccountNotFoundException {
+        Instant now = Instant.now();
+        Hold hold = outstandingHold(accountId, holdId, now);
+        BigDecimal amount = request == null || request.amount() == null ? hold.amount() : request.amount();
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw INVALID_AMOUNT;
+        }
+        if (amount.compareTo(hold.amount()) > 0) {
+            throw CAPTURE_EXCEEDS_HOLD;
+        }
 
-        return TransactionMapper.toDto(transaction);
+        Transaction capture = new Transaction(idGenerator.nextId(), accountId, amount, TransactionType.WITHDRAWAL, now);
+        if (!ledgerStore.captureHold(holdId, capture)) {
+            throw new HoldNotFoundException(holdId.toString());
+        }
+
+        return TransactionMapper.toDto(capture);
+    }
+
+    /**
+     * Releases the hold without moving any funds.
+     */
+    public HoldDTO voidHold(AccountId accountId, UUID holdId) throws AccountNotFoundException {
+        outstandingHold(accountId, holdId, Instant.now());
+        Hold hold = ledgerStore.releaseHold(accountId, holdId);
+        if (hold == null) {
+            throw new HoldNotFoundException(holdId.toString());
+        }
+        return HoldMapper.toDto(hold);
     }
 
     public AccountDTO createAccount() {
-        String accountId = UUID.randomUUID().toString();
-            if(!this.transactionsByAccount.containsKey(accountId) && !this.balanceByAccount.containsKey(accountId)) {
-                this.transactionsByAccount.put(accountId, new ArrayList<>());
-                this.balanceByAccount.put(accountId, BigDecimal.ZERO);
+        AccountId accountId;
+        do {
+            accountId = AccountId.of(idGenerator.nextId());
+        } while (!ledgerStore.createAccount(accountId));
+        return new AccountDTO(accountId.toString());
+    }
+
+    /**
+     * Creates {@code request.count()} accounts in a single pass over the store. A positive opening balance is
+     * recorded as a deposit that is applied together with the account's creation.
+     *
+     * @return the IDs of the new accounts, in the same order as the opening balances
+     */
+    public List<AccountId> createAccounts(CreateAccountsRequest request) {
+        int count = request.count();
+        List<BigDecimal> openingBalances = request.openingBalances();
+        if (openingBalances != null && openingBalances.stream().anyMatch(balance -> balance.signum() < 0)) {
+            throw INVALID_AMOUNT;
+        }
+        Instant now = Instant.now();
+        List<AccountId> accountIds = new ArrayList<>(count);
+        List<Transaction> openingDeposits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AccountId accountId = AccountId.of(idGenerator.nextId());
+            accountIds.add(accountId);
+            openingDeposits.add(openingDeposit(accountId, openingBalances == null ? null : openingBalances.get(i), now));
+        }
+        boolean[] created = ledgerStore.createAccounts(accountIds, openingDeposits);
+        for (int i = 0; i < count; i++) {
+            while (!created[i]) {
+                AccountId accountId = AccountId.of(idGenerator.nextId());
+                Transaction openingDeposit = openingDeposit(accountId, openingBalances == null ? null : openingBalances.get(i), now);
+                created[i] = ledgerStore.createAccounts(List.of(accountId), Collections.singletonList(openingDeposit))[0];
+                accountIds.set(i, accountId);
+            }
+        }
+        return accountIds;
+    }
+
+    /**
+     * A hold past its expiry is treated as gone, even if the expiry thread has not released it yet.
+     */
+    private Hold outstandingHold(AccountId accountId, UUID holdId, Instant now) throws AccountNotFoundException {
+        Hold hold = ledgerStore.getHold(accountId, holdId);
+        if (hold == null || !hold.expiresAt().isAfter(now)) {
+            throw new HoldNotFoundException(holdId.toString());
+        }
+        return hold;
+    }
+
+    private Transaction openingDeposit(AccountId accountId, BigDecimal openingBalance, Instant timestamp) {
+        if (openingBalance == null || openingBalance.signum() == 0) {
+            return null;
+        }
+        return new Transaction(idGenerator.nextId(), accountId, openingBalance, TransactionType.DEPOSIT, timestamp);
+    }
+
+    /**
+     * Orders a history given oldest first by timestamp, most recent first, keeping transactions with the same
+     * timestamp in the order they were appended. Histories are almost always appended in timestamp order already,
+     * in which case they are reversed in one pass rather than sorted.
+     */
+    private static List<Transaction> newestFirst(List<Transaction> oldestFirst) {
+        int size = oldestFirst.size();
+        for (int i = 1; i < size; i++) {
+            if (oldestFirst.get(i).timestamp().isBefore(oldestFirst.get(i - 1).timestamp())) {
+                List<Transaction> sorted = new ArrayList<>(oldestFirst);
+                sorted.sort(NEWEST_FIRST);
+                return sorted;
             }
-            else {
-                return createAccount();
+        }
+        Transaction[] newestFirst = new Transaction[size];
+        int next = 0;
+        for (int end = size; end > 0; ) {
+            int start = end - 1;
+            Instant timestamp = oldestFirst.get(start).timestamp();
+            while (start > 0 && oldestFirst.get(start - 1).timestamp().equals(timestamp)) {
+                start--;
             }
-        return new AccountDTO(accountId);
+            for (int i = start; i < end; i++) {
+                newestFirst[next++] = oldestFirst.get(i);
+            }
+            end = start;
+        }
+        return Arrays.asList(newestFirst);
     }
 }
@@ -0,0 +1,338 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.Hold;
+import com.teya.ledger.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Balance and history of a single account, kept as one {@link AccountState} behind a CAS-updated reference.
+ * <p>
+ * Writers build the next state and swap it in; readers take whatever state is current, so they never lock
+ * and never block writers. Once an account sees more than {@link #CONTENTION_THRESHOLD} failed updates within
+ * {@link #CONTENTION_WINDOW_NANOS}, it is promoted to hot mode: deposits are absorbed by {@link StripedDeposits}
+ * and folded into the state lazily, every {@link #MERGE_INTERVAL} deposits per stripe, when a withdrawal needs
+ * the funds or when the account is read. Withdrawals and holds always go through the state, so the
+ * no-negative-balance rule is enforced against a single value: the balance less the outstanding holds.
+ * <p>
+ * The state only carries the total held. The holds themselves are indexed in a map beside it, which is created with
+ * the first hold: a hold enters the map after its amount is added to the total and leaves it before the amount is
+ * taken off again, so whoever removes a hold from the map is the only one to release its amount.
+ */
+final class Account {
+
+    static final int CONTENTION_THRESHOLD = 64;
+    static final long CONTENTION_WINDOW_NANOS = 1_000_000_000L;
+    static final int MERGE_INTERVAL = 64;
+    static final int STRIPES = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 1);
+
+    private final AtomicReference<AccountState> state = new AtomicReference<>(AccountState.INITIAL);
+    private final int contentionThreshold;
+    private final AtomicInteger contention = new AtomicInteger();
+    private volatile long contentionWindowStart = System.nanoTime();
+    private volatile StripedDeposits stripes;
+    private volatile Map<UUID, Hold> holds;
+
+    Account() {
+        this(CONTENTION_THRESHOLD);
+    }
+
+    /**
+     * @param contentionThreshold failed updates within {@link #CONTENTION_WINDOW_NANOS} that promote the account
+     */
+    Account(int contentionThreshold) {
+        this.contentionThreshold = contentionThreshold;
+    }
+
+    void deposit(Transaction transaction) {
+        deposit(transaction, SequenceTicket.NONE);
+    }
+
+    /**
+     * Credits the account, numbering the deposit with {@code ticket} in the step that applies it.
+     */
+    void deposit(Transaction transaction, SequenceTicket ticket) {
+        StripedDeposits hot = stripes;
+        if (hot != null) {
+            depositStriped(hot, transaction, ticket);
+            return;
+        }
+        AccountState current = state.get();
+        ticket.take();
+        while (!state.compareAndSet(current, current.apply(transaction))) {
+            recordContention();
+            hot = stripes;
+            if (hot != null) {
+                depositStriped(hot, transaction, ticket);
+                return;
+            }
+            current = state.get();
+            ticket.take();
+        }
+    }
+
+    boolean withdraw(Transaction transaction) {
+        return withdraw(transaction, SequenceTicket.NONE);
+    }
+
+    /**
+     * Debits the account, folding pending striped deposits in first if the state alone does not cover it. The
+     * withdrawal is numbered with {@code ticket} in the step that applies it.
+     *
+     * @return {@code false} if the available balance does not cover the amount, in which case nothing is changed
+     */
+    boolean withdraw(Transaction transaction, SequenceTicket ticket) {
+        return reserve(transaction.amount(), current -> {
+            ticket.take();
+            return current.apply(transaction);
+        });
+    }
+
+    /**
+     * Sets funds aside for {@code hold}, folding pending striped deposits in first if the state alone does not cover it.
+     *
+     * @return {@code false} if the available balance does not cover the amount, in which case nothing is changed
+     */
+    boolean placeHold(Hold hold) {
+        if (!reserve(hold.amount(), current -> current.hold(hold.amount()))) {
+            return false;
+        }
+        holdIndex().put(hold.id(), hold);
+        return true;
+    }
+
+    /**
+     * Releases the hold and applies {@code capture} in its place, in one update. The capture must not exceed the hold.
+     *
+     * @return {@code false} if the hold is no longer outstanding, in which case nothing is changed
+     */
+    boolean capture(UUID holdId, Transaction capture) {
+        return capture(holdId, capture, SequenceTicket.NONE);
+    }
+
+    /**
+     * Same as {@link #capture(UUID, Transaction)}, numbering the capture with {@code ticket} in the step that applies it.
+     */
+    boolean capture(UUID holdId, Transaction capture, SequenceTicket ticket) {
+        Hold hold = hold(holdId);
+        if (hold != null && capture.amount().compareTo(hold.amount()) > 0) {
+            throw new IllegalArgumentException("Capture of " + capture.amount() + " exceeds hold of " + hold.amount());
+        }
+        if (hold == null || !holds.remove(holdId, hold)) {
+            return false;
+        }
+        update(current -> {
+            ticket.take();
+            return current.capture(hold.amount(), capture);
+        });
+        return true;
+    }
+
+    /**
+     * @return the released hold, or {@code null} if it was no longer outstanding
+     */
+    Hold release(UUID holdId) {
+        Map<UUID, Hold> index = holds;
+        Hold hold = index == null ? null : index.remove(holdId);
+        if (hold != null) {
+            update(current -> current.release(hold.amount()));
+        }
+        return hold;
+    }
+
+    Hold hold(UUID holdId) {
+        Map<UUID, Hold> index = holds;
+        return index == null ? null : index.get(holdId);
+    }
+
+    Collection<Hold> holds() {
+        Map<UUID, Hold> index = holds;
+        return index == null ? List.of() : index.values();
+    }
+
+    /**
+     * Applies a transaction that was already validated, without checking the balance.
+     */
+    void restore(Transaction transaction) {
+        state.updateAndGet(current -> current.apply(transaction));
+    }
+
+    /**
+     * Places a hold that was already validated, without checking the available balance.
+     */
+    void restore(Hold hold) {
+        update(current -> current.hold(hold.amount()));
+        holdIndex().put(hold.id(), hold);
+    }
+
+    /**
+     * Folds the deposits pending in a hot account's stripes into its state before reading it, so that what is
+     * returned is always a state the account actually went through and its version identifies it. Folding on the
+     * read alone would not do: stripes are read one at a time, so two reads could each fold in a different
+     * concurrent deposit and report the same version for different balances.
+     *
+     * @return the current version of the account, including every deposit made before the call
+     */
+    AccountState snapshot() {
+        StripedDeposits hot = stripes;
+        if (hot != null) {
+            merge(hot);
+        }
+        return state.get();
+    }
+
+    /**
+     * @return the oldest heap-resident transactions older than {@code cutoff}, oldest first
+     */
+    List<Transaction> sealable(Instant cutoff, int limit) {
+        return state.get().history().sealable(cutoff, limit);
+    }
+
+    /**
+     * Replaces the {@code count} oldest heap-resident transactions with {@code run}. The logical content of the
+     * account does not change, so neither does its version. Only one thread may seal an account at a time.
+     */
+    void seal(int count, SealedRun run) {
+        state.updateAndGet(current -> current.withHistory(current.history().seal(count, run)));
+    }
+
+    boolean isHot() {
+        return stripes != null;
+    }
+
+    void promote() {
+        if (stripes == null) {
+            synchronized (this) {
+                if (stripes == null) {
+                    stripes = new StripedDeposits(STRIPES);
+                }
+            }
+        }
+    }
+
+    private void depositStriped(StripedDeposits hot, Transaction transaction, SequenceTicket ticket) {
+        if (hot.add(transaction, ticket).index() % MERGE_INTERVAL == 0) {
+            AccountState current = state.get();
+            AccountState merged = fold(current, hot.heads());
+            if (merged != current && state.compareAndSet(current, merged)) {
+                hot.trim(merged.mergedDeposits());
+            }
+        }
+    }
+
+    private Map<UUID, Hold> holdIndex() {
+        Map<UUID, Hold> index = holds;
+        if (index == null) {
+            synchronized (this) {
+                index = holds;
+                if (index == null) {
+                    index = new ConcurrentHashMap<>();
+                    holds = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private void update(UnaryOperator<AccountState> update) {
+        AccountState current = state.get();
+        while (!state.compareAndSet(current, update.apply(current))) {
+            recordContention();
+            current = state.get();
+        }
+    }
+
+    private boolean reserve(BigDecimal amount, UnaryOperator<AccountState> update) {
+        if (tryReserve(amount, update)) {
+            return true;
+        }
+        StripedDeposits hot = stripes;
+        if (hot == null) {
+            return false;
+        }
+        merge(hot);
+        return tryReserve(amount, update);
+    }
+
+    private boolean tryReserve(BigDecimal amount, UnaryOperator<AccountState> update) {
+        AccountState current = state.get();
+        while (current.available().compareTo(amount) >= 0) {
+            if (state.compareAndSet(current, update.apply(current))) {
+                return true;
+            }
+            recordContention();
+            current = state.get();
+        }
+        return false;
+    }
+
+    private void merge(StripedDeposits hot) {
+        StripedDeposits.Deposit[] heads = hot.heads();
+        while (true) {
+            AccountState current = state.get();
+            AccountState merged = fold(current, heads);
+            if (merged == current) {
+                return;
+            }
+            if (state.compareAndSet(current, merged)) {
+                hot.trim(merged.mergedDeposits());
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return {@code state} with every deposit in {@code heads} that it has not folded in yet applied to it
+     */
+    private static AccountState fold(AccountState state, StripedDeposits.Deposit[] heads) {
+        AccountState folded = state;
+        long[] mergedDeposits = null;
+        List<Transaction> pending = new ArrayList<>();
+        for (int stripe = 0; stripe < heads.length; stripe++) {
+            long merged = state.mergedDeposits(stripe);
+            if (heads[stripe].index() <= merged) {
+                continue;
+            }
+            pending.clear();
+            for (StripedDeposits.Deposit node = heads[stripe]; node.transaction() != null && node.index() > merged;
+                 node = node.previous()) {
+                pending.add(node.transaction());
+            }
+            for (int i = pending.size() - 1; i >= 0; i--) {
+                folded = folded.apply(pending.get(i));
+            }
+            if (mergedDeposits == null) {
+                mergedDeposits = state.mergedDeposits() == null ? new long[heads.length] : state.mergedDeposits().clone();
+            }
+            mergedDeposits[stripe] = heads[stripe].index();
+        }
+        if (mergedDeposits == null) {
+            return state;
+        }
+        return folded.withMergedDeposits(mergedDeposits);
+    }
+
+    private void recordContention() {
+        if (stripes != null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - contentionWindowStart > CONTENTION_WINDOW_NANOS) {
+            contentionWindowStart = now;
+            contention.set(0);
+        }
+        if (contention.incrementAndGet() >= contentionThreshold) {
+            promote();
+        }
+    }
+}
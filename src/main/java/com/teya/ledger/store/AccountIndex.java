@@ -0,0 +1,162 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.AccountId;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open-addressing hash table from {@link AccountId} to a value, with both halves of every key stored inline in one
+ * {@code long[]}, so an entry costs no key object and no map node, and a lookup hashes two longs.
+ * <p>
+ * Lookups never lock. A value is published with a release store after its key has been written, so a reader that
+ * sees the value also sees the key. Inserts are serialised and entries are never removed, so an empty slot ends a
+ * probe. Once the table is more than {@link #MAX_LOAD} full, it is copied into one twice its size that is then
+ * swapped in; a reader still on the old table sees every entry inserted before the swap.
+ */
+public final class AccountIndex<V> implements Iterable<V> {
+
+    static final double MAX_LOAD = 0.75;
+
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    private volatile Table<V> table;
+    private int size;
+
+    public AccountIndex(int expectedSize) {
+        this.table = new Table<>(capacityFor(expectedSize));
+    }
+
+    public V get(AccountId accountId) {
+        long mostSigBits = accountId.mostSigBits();
+        long leastSigBits = accountId.leastSigBits();
+        Table<V> current = table;
+        for (int slot = hash(mostSigBits, leastSigBits) & current.mask; ; slot = (slot + 1) & current.mask) {
+            V value = current.values.get(slot);
+            if (value == null) {
+                return null;
+            }
+            if (current.keys[slot << 1] == mostSigBits && current.keys[(slot << 1) + 1] == leastSigBits) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * @return the value already mapped to {@code accountId}, or {@code null} if {@code value} was inserted
+     */
+    public synchronized V putIfAbsent(AccountId accountId, V value) {
+        long mostSigBits = accountId.mostSigBits();
+        long leastSigBits = accountId.leastSigBits();
+        Table<V> current = table;
+        int slot = hash(mostSigBits, leastSigBits) & current.mask;
+        for (V existing; (existing = current.values.get(slot)) != null; slot = (slot + 1) & current.mask) {
+            if (current.keys[slot << 1] == mostSigBits && current.keys[(slot << 1) + 1] == leastSigBits) {
+                return existing;
+            }
+        }
+        current.keys[slot << 1] = mostSigBits;
+        current.keys[(slot << 1) + 1] = leastSigBits;
+        current.values.lazySet(slot, value);
+        if (++size > current.capacity() * MAX_LOAD) {
+            table = grow(current);
+        }
+        return null;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Iterates over the values of the table current when this is called; entries inserted afterwards may be missed.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        Table<V> current = table;
+        return new Iterator<>() {
+
+            private int slot = advance(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < current.capacity();
+            }
+
+            @Override
+            public V next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                V value = current.values.get(slot);
+                slot = advance(slot + 1);
+                return value;
+            }
+
+            private int advance(int from) {
+                int next = from;
+                while (next < current.capacity() && current.values.get(next) == null) {
+                    next++;
+                }
+                return next;
+            }
+        };
+    }
+
+    private static <V> Table<V> grow(Table<V> current) {
+        if (current.capacity() == MAX_CAPACITY) {
+            throw new IllegalStateException("Account index is full");
+        }
+        Table<V> grown = new Table<>(current.capacity() << 1);
+        for (int slot = 0; slot < current.capacity(); slot++) {
+            V value = current.values.get(slot);
+            if (value == null) {
+                continue;
+            }
+            long mostSigBits = current.keys[slot << 1];
+            long leastSigBits = current.keys[(slot << 1) + 1];
+            int target = hash(mostSigBits, leastSigBits) & grown.mask;
+            while (grown.values.get(target) != null) {
+                target = (target + 1) & grown.mask;
+            }
+            grown.keys[target << 1] = mostSigBits;
+            grown.keys[(target << 1) + 1] = leastSigBits;
+            grown.values.lazySet(target, value);
+        }
+        return grown;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long capacity = Long.highestOneBit((long) Math.ceil(Math.max(expectedSize, 1) / MAX_LOAD) * 2 - 1);
+        return (int) Math.min(Math.max(capacity, 16), MAX_CAPACITY);
+    }
+
+    /**
+     * Time-ordered IDs share their high bits, so both halves are mixed down into the low bits used as the slot.
+     */
+    private static int hash(long mostSigBits, long leastSigBits) {
+        long h = mostSigBits * 0x9E3779B97F4A7C15L ^ leastSigBits;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static final class Table<V> {
+
+        private final long[] keys;
+        private final AtomicReferenceArray<V> values;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity << 1];
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+    }
+}
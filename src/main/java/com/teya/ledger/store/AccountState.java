@@ -0,0 +1,67 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.Transaction;
+
+import java.math.BigDecimal;
+
+/**
+ * One immutable version of an account. Every applied transaction, and every hold placed or released, produces
+ * a new state with the next version, so the balance, the held total and the history read from the same state
+ * always agree.
+ *
+ * @param held           the sum of the outstanding holds
+ * @param mergedDeposits for hot accounts, the index of the last striped deposit folded into this state, per stripe;
+ *                       {@code null} while the account has never been merged
+ */
+record AccountState(long version, BigDecimal balance, BigDecimal held, History history, long[] mergedDeposits) {
+
+    static final AccountState INITIAL = new AccountState(0, BigDecimal.ZERO, BigDecimal.ZERO, History.EMPTY, null);
+
+    AccountState apply(Transaction transaction) {
+        return new AccountState(version + 1, balance.add(signedAmount(transaction)), held,
+                history.append(transaction), mergedDeposits);
+    }
+
+    AccountState withHistory(History history) {
+        return new AccountState(version, balance, held, history, mergedDeposits);
+    }
+
+    AccountState hold(BigDecimal amount) {
+        return new AccountState(version + 1, balance, held.add(amount), history, mergedDeposits);
+    }
+
+    AccountState release(BigDecimal amount) {
+        return new AccountState(version + 1, balance, held.subtract(amount), history, mergedDeposits);
+    }
+
+    /**
+     * @return the state with {@code heldAmount} released and {@code capture}, a withdrawal of at most that amount,
+     * applied, as a single new version
+     */
+    AccountState capture(BigDecimal heldAmount, Transaction capture) {
+        return new AccountState(version + 1, balance.subtract(capture.amount()), held.subtract(heldAmount),
+                history.append(capture), mergedDeposits);
+    }
+
+    AccountState withMergedDeposits(long[] mergedDeposits) {
+        return new AccountState(version, balance, held, history, mergedDeposits);
+    }
+
+    /**
+     * @return the balance less every outstanding hold
+     */
+    BigDecimal available() {
+        return balance.subtract(held);
+    }
+
+    long mergedDeposits(int stripe) {
+        return mergedDeposits == null ? 0 : mergedDeposits[stripe];
+    }
+
+    static BigDecimal signedAmount(Transaction transaction) {
+        return switch (transaction.type()) {
+            case DEPOSIT -> transaction.amount();
+            case WITHDRAWAL -> transaction.amount().negate();
+        };
+    }
+}
@@ -0,0 +1,246 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seals history into compressed blocks that stay on the heap.
+ * <p>
+ * A run is split into blocks of up to {@link #BLOCK_SIZE} transactions, each one a single byte array:
+ * <ul>
+ *     <li>the transaction IDs, 16 bytes each, so that an ID can be read without decoding anything else;</li>
+ *     <li>the types, packed two bits per transaction;</li>
+ *     <li>for each transaction, its timestamp as a zigzag varint of the nanoseconds since the previous one
+ *     (since the epoch for the first), followed by its amount as a zigzag varint unscaled value and scale.</li>
+ * </ul>
+ * The account ID is held once per run rather than once per transaction. Nothing is decoded until a read
+ * touches the block, and a read only decodes the block it needs, up to the last transaction it returns.
+ */
+public class CompressedBlockSealer implements HistorySealer {
+
+    static final int BLOCK_SIZE = 128;
+
+    private static final int MAX_BATCH_SIZE = 1 << 16;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    @Override
+    public int maxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+
+    @Override
+    public List<SealedRun> seal(List<List<Transaction>> histories) {
+        List<SealedRun> runs = new ArrayList<>(histories.size());
+        for (List<Transaction> history : histories) {
+            runs.add(compress(history));
+        }
+        return runs;
+    }
+
+    private static CompressedRun compress(List<Transaction> history) {
+        Block[] blocks = new Block[(history.size() + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = Block.encode(history.subList(i * BLOCK_SIZE, Math.min(history.size(), (i + 1) * BLOCK_SIZE)));
+            if (blocks[i] == null) {
+                return null;
+            }
+        }
+        return new CompressedRun(history.get(0).accountId(), blocks, history.size());
+    }
+
+    /**
+     * @return the timestamp in nanoseconds since the epoch
+     * @throws ArithmeticException if it does not fit in a long, roughly outside the years 1677 to 2262
+     */
+    private static long epochNanos(Instant timestamp) {
+        return Math.addExact(Math.multiplyExact(timestamp.getEpochSecond(), NANOS_PER_SECOND), timestamp.getNano());
+    }
+
+    record CompressedRun(AccountId accountId, Block[] blocks, int size) implements SealedRun {
+
+        @Override
+        public Transaction get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            List<Transaction> slice = new ArrayList<>(1);
+            int offset = index % BLOCK_SIZE;
+            blocks[index / BLOCK_SIZE].decode(accountId, offset, offset + 1, slice);
+            return slice.get(0);
+        }
+
+        @Override
+        public List<Transaction> slice(int from, int to) {
+            if (from < 0 || to > size || from > to) {
+                throw new IndexOutOfBoundsException("Invalid slice [" + from + ", " + to + ") of " + size);
+            }
+            List<Transaction> slice = new ArrayList<>(to - from);
+            for (int block = from / BLOCK_SIZE; block * BLOCK_SIZE < to; block++) {
+                int start = block * BLOCK_SIZE;
+                blocks[block].decode(accountId, Math.max(from, start) - start, Math.min(to, start + BLOCK_SIZE) - start, slice);
+            }
+            return slice;
+        }
+
+        /**
+         * @return the number of bytes held by the encoded blocks
+         */
+        long encodedSize() {
+            long encoded = 0;
+            for (Block block : blocks) {
+                encoded += block.data.length;
+            }
+            return encoded;
+        }
+    }
+
+    static final class Block {
+
+        private final byte[] data;
+        private final int count;
+
+        private Block(byte[] data, int count) {
+            this.data = data;
+            this.count = count;
+        }
+
+        /**
+         * @return the encoded block, or {@code null} if an amount or timestamp is out of the encodable range
+         */
+        static Block encode(List<Transaction> transactions) {
+            int count = transactions.size();
+            int typesOffset = count * 16;
+            Writer writer = new Writer(typesOffset + (count + 3) / 4 + count * 8);
+            for (Transaction transaction : transactions) {
+                writer.putLong(transaction.id().getMostSignificantBits());
+                writer.putLong(transaction.id().getLeastSignificantBits());
+            }
+            writer.position += (count + 3) / 4;
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                Transaction transaction = transactions.get(i);
+                BigDecimal amount = transaction.amount();
+                if (amount.unscaledValue().bitLength() >= Long.SIZE || transaction.type().ordinal() > 0b11) {
+                    return null;
+                }
+                long timestamp;
+                try {
+                    timestamp = epochNanos(transaction.timestamp());
+                    writer.putVarLong(zigzag(Math.subtractExact(timestamp, previous)));
+                } catch (ArithmeticException e) {
+                    return null;
+                }
+                previous = timestamp;
+                writer.putVarLong(zigzag(amount.unscaledValue().longValue()));
+                writer.putVarLong(zigzag(amount.scale()));
+                writer.data[typesOffset + i / 4] |= (byte) (transaction.type().ordinal() << (i % 4 * 2));
+            }
+            return new Block(Arrays.copyOf(writer.data, writer.position), count);
+        }
+
+        /**
+         * Appends the transactions from {@code from} (inclusive) to {@code to} (exclusive) to {@code target}, oldest first.
+         */
+        void decode(AccountId accountId, int from, int to, List<Transaction> target) {
+            int typesOffset = count * 16;
+            Reader reader = new Reader(data, typesOffset + (count + 3) / 4);
+            long timestamp = 0;
+            for (int i = 0; i < to; i++) {
+                timestamp += unzigzag(reader.getVarLong());
+                long unscaled = unzigzag(reader.getVarLong());
+                int scale = (int) unzigzag(reader.getVarLong());
+                if (i < from) {
+                    continue;
+                }
+                int type = (data[typesOffset + i / 4] >> (i % 4 * 2)) & 0b11;
+                target.add(new Transaction(
+                        new UUID(getLong(i * 16), getLong(i * 16 + 8)),
+                        accountId,
+                        BigDecimal.valueOf(unscaled, scale),
+                        TYPES[type],
+                        Instant.ofEpochSecond(Math.floorDiv(timestamp, NANOS_PER_SECOND), Math.floorMod(timestamp, NANOS_PER_SECOND))
+                ));
+            }
+        }
+
+        private long getLong(int position) {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position + i] & 0xFF);
+            }
+            return value;
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    private static final class Writer {
+
+        private byte[] data;
+        private int position;
+
+        private Writer(int capacity) {
+            this.data = new byte[capacity];
+        }
+
+        void putLong(long value) {
+            ensure(8);
+            for (int i = 7; i >= 0; i--) {
+                data[position++] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        void putVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                data[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[position++] = (byte) value;
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, position + bytes));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        long getVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
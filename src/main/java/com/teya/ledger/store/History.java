@@ -0,0 +1,157 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.Transaction;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persistent (immutable, structurally shared) list of an account's transactions, newest first.
+ * Appending creates one node that points at the previous history, so every older version stays valid
+ * and readers holding it never need a lock.
+ * <p>
+ * The recent part is a chain of nodes on the heap. Older transactions can be sealed into {@link SealedRun}s,
+ * which hang off the last node of the chain and are read through transparently.
+ */
+final class History {
+
+    static final History EMPTY = new History(null, null, 0, null);
+
+    private final Transaction transaction;
+    private final History older;
+    private final int size;
+    // Only set on the last node of the chain: sealed runs, newest first.
+    private final Sealed sealed;
+
+    private History(Transaction transaction, History older, int size, Sealed sealed) {
+        this.transaction = transaction;
+        this.older = older;
+        this.size = size;
+        this.sealed = sealed;
+    }
+
+    History append(Transaction transaction) {
+        return new History(transaction, this, size + 1, null);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return up to {@code limit} transactions, newest first, skipping the {@code offset} most recent ones
+     */
+    List<Transaction> page(int offset, int limit) {
+        List<Transaction> page = new ArrayList<>(Math.max(0, Math.min(limit, size - offset)));
+        History node = this;
+        int skip = offset;
+        while (node.transaction != null && page.size() < limit) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                page.add(node.transaction);
+            }
+            node = node.older;
+        }
+        for (Sealed runs = node.sealed; runs != null && page.size() < limit; runs = runs.older) {
+            SealedRun run = runs.run;
+            if (skip >= run.size()) {
+                skip -= run.size();
+                continue;
+            }
+            int to = run.size() - skip;
+            List<Transaction> slice = run.slice(Math.max(0, to - (limit - page.size())), to);
+            for (int i = slice.size() - 1; i >= 0; i--) {
+                page.add(slice.get(i));
+            }
+            skip = 0;
+        }
+        return page;
+    }
+
+    /**
+     * @return every transaction, oldest first
+     */
+    List<Transaction> toList() {
+        Transaction[] transactions = new Transaction[size];
+        int i = size - 1;
+        History node = this;
+        for (; node.transaction != null; node = node.older) {
+            transactions[i--] = node.transaction;
+        }
+        for (Sealed runs = node.sealed; runs != null; runs = runs.older) {
+            List<Transaction> run = runs.run.slice(0, runs.run.size());
+            for (int j = run.size() - 1; j >= 0; j--) {
+                transactions[i--] = run.get(j);
+            }
+        }
+        return List.of(transactions);
+    }
+
+    /**
+     * @return the oldest transactions still on the heap whose timestamp is before {@code cutoff}, oldest first,
+     * at most {@code limit} of them
+     */
+    List<Transaction> sealable(Instant cutoff, int limit) {
+        List<Transaction> recent = new ArrayList<>();
+        for (History node = this; node.transaction != null; node = node.older) {
+            recent.add(node.transaction);
+        }
+        List<Transaction> sealable = new ArrayList<>();
+        for (int i = recent.size() - 1; i >= 0 && sealable.size() < limit; i--) {
+            Transaction transaction = recent.get(i);
+            if (!transaction.timestamp().isBefore(cutoff)) {
+                break;
+            }
+            sealable.add(transaction);
+        }
+        return sealable;
+    }
+
+    /**
+     * @return the same history, with its {@code count} oldest heap entries replaced by {@code run}
+     */
+    History seal(int count, SealedRun run) {
+        int recent = size - sealedSize();
+        if (count > recent || run.size() != count) {
+            throw new IllegalArgumentException("Cannot seal " + count + " of " + recent + " recent transactions");
+        }
+        Transaction[] kept = new Transaction[recent - count];
+        History node = this;
+        for (int i = 0; i < kept.length; i++) {
+            kept[i] = node.transaction;
+            node = node.older;
+        }
+        while (node.transaction != null) {
+            node = node.older;
+        }
+        Sealed runs = new Sealed(run, node.sealed);
+        History sealed = new History(null, null, runs.size, runs);
+        for (int i = kept.length - 1; i >= 0; i--) {
+            sealed = sealed.append(kept[i]);
+        }
+        return sealed;
+    }
+
+    private int sealedSize() {
+        History node = this;
+        while (node.transaction != null) {
+            node = node.older;
+        }
+        return node.sealed == null ? 0 : node.sealed.size;
+    }
+
+    private static final class Sealed {
+
+        private final SealedRun run;
+        private final Sealed older;
+        private final int size;
+
+        private Sealed(SealedRun run, Sealed older) {
+            this.run = run;
+            this.older = older;
+            this.size = run.size() + (older == null ? 0 : older.size);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Turns older history into {@link SealedRun}s.
+ */
+public interface HistorySealer extends AutoCloseable {
+
+    /**
+     * Seals the given histories, each holding one account's transactions, oldest first.
+     *
+     * @return one run per history, in the same order, or {@code null} for a history that cannot be sealed
+     */
+    List<SealedRun> seal(List<List<Transaction>> histories);
+
+    /**
+     * @return the largest number of transactions, across all histories, that a single {@link #seal} call accepts
+     */
+    int maxBatchSize();
+
+    /**
+     * Releases whatever the sealer keeps outside the heap. Nothing, by default.
+     */
+    @Override
+    default void close() {
+    }
+}
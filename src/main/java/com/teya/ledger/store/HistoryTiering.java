@@ -0,0 +1,61 @@
+package com.teya.ledger.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically seals history older than the hot age, on a single background thread.
+ */
+public class HistoryTiering implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryTiering.class);
+
+    private final LedgerStore ledgerStore;
+    private final HistorySealer sealer;
+    private final Duration hotAge;
+    private final ScheduledExecutorService scheduler;
+
+    public HistoryTiering(LedgerStore ledgerStore, HistorySealer sealer, Duration hotAge, Duration sweepInterval) {
+        this.ledgerStore = ledgerStore;
+        this.sealer = sealer;
+        this.hotAge = hotAge;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-history-tiering");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = sweepInterval.toMillis();
+        this.scheduler.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Seals everything that has aged out of the hot tier.
+     *
+     * @return the number of transactions sealed
+     */
+    public long sweep() {
+        try {
+            long sealed = ledgerStore.sealHistory(Instant.now().minus(hotAge), sealer);
+            log.debug("Sealed {} transactions older than {}", sealed, hotAge);
+            return sealed;
+        } catch (RuntimeException e) {
+            log.warn("History sweep failed, will retry on the next run", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Stops the sweep and closes the sealer.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        sealer.close();
+    }
+}
@@ -0,0 +1,28 @@
+package com.teya.ledger.store;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param mode      {@code none} to keep all history on the heap as is, {@code compressed} for compressed blocks on the heap,
+ *                  or {@code mapped} for memory-mapped segment files
+ * @param directory under which each instance creates its own directory of segment files; defaults to the temporary
+ *                  directory
+ */
+@ConfigurationProperties(prefix = "ledger.history.tiering")
+public record HistoryTieringProperties(
+        @DefaultValue("none") String mode,
+        @DefaultValue("30d") Duration hotAge,
+        @DefaultValue("1h") Duration sweepInterval,
+        Path directory,
+        @DefaultValue("67108864") int segmentSize,
+        @DefaultValue("64") int maxMappedSegments
+) {
+
+    Path directoryOrDefault() {
+        return directory != null ? directory : Path.of(System.getProperty("java.io.tmpdir"));
+    }
+}
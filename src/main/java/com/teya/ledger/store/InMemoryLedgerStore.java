@@ -0,0 +1,193 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.exception.AccountNotFoundException;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.Hold;
+import com.teya.ledger.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Keeps every account on the heap. Data is lost when the application stops.
+ */
+public class InMemoryLedgerStore implements LedgerStore {
+
+    private final AccountIndex<Account> accounts;
+
+    public InMemoryLedgerStore() {
+        this(16);
+    }
+
+    public InMemoryLedgerStore(int expectedAccounts) {
+        this.accounts = new AccountIndex<>(expectedAccounts);
+    }
+
+    @Override
+    public boolean createAccount(AccountId accountId) {
+        return accounts.putIfAbsent(accountId, new Account()) == null;
+    }
+
+    /**
+     * Builds each account with its opening deposit already applied, so it is published complete by a single insert.
+     */
+    @Override
+    public boolean[] createAccounts(List<AccountId> accountIds, List<Transaction> openingDeposits) {
+        boolean[] created = new boolean[accountIds.size()];
+        for (int i = 0; i < created.length; i++) {
+            Account account = new Account();
+            if (openingDeposits.get(i) != null) {
+                account.restore(openingDeposits.get(i));
+            }
+            created[i] = accounts.putIfAbsent(accountIds.get(i), account) == null;
+        }
+        return created;
+    }
+
+    @Override
+    public BigDecimal getBalance(AccountId accountId) throws AccountNotFoundException {
+        return accountOf(accountId).snapshot().balance();
+    }
+
+    @Override
+    public boolean append(Transaction transaction) throws AccountNotFoundException {
+        return append(transaction, SequenceTicket.NONE);
+    }
+
+    /**
+     * Same as {@link #append(Transaction)}, numbering the transaction with {@code ticket} in the step that applies it.
+     */
+    boolean append(Transaction transaction, SequenceTicket ticket) throws AccountNotFoundException {
+        Account account = accountOf(transaction.accountId());
+        return switch (transaction.type()) {
+            case DEPOSIT -> {
+                account.deposit(transaction, ticket);
+                yield true;
+            }
+            case WITHDRAWAL -> account.withdraw(transaction, ticket);
+        };
+    }
+
+    @Override
+    public boolean placeHold(Hold hold) throws AccountNotFoundException {
+        return accountOf(hold.accountId()).placeHold(hold);
+    }
+
+    @Override
+    public Hold getHold(AccountId accountId, UUID holdId) throws AccountNotFoundException {
+        return accountOf(accountId).hold(holdId);
+    }
+
+    @Override
+    public boolean captureHold(UUID holdId, Transaction capture) throws AccountNotFoundException {
+        return captureHold(holdId, capture, SequenceTicket.NONE);
+    }
+
+    /**
+     * Same as {@link #captureHold(UUID, Transaction)}, numbering the capture with {@code ticket} in the step that
+     * applies it.
+     */
+    boolean captureHold(UUID holdId, Transaction capture, SequenceTicket ticket) throws AccountNotFoundException {
+        return accountOf(capture.accountId()).capture(holdId, capture, ticket);
+    }
+
+    @Override
+    public Hold releaseHold(AccountId accountId, UUID holdId) throws AccountNotFoundException {
+        return accountOf(accountId).release(holdId);
+    }
+
+    @Override
+    public void forEachHold(Consumer<Hold> action) {
+        for (Account account : accounts) {
+            account.holds().forEach(action);
+        }
+    }
+
+    @Override
+    public List<Transaction> getTransactions(AccountId accountId) throws AccountNotFoundException {
+        return accountOf(accountId).snapshot().history().toList();
+    }
+
+    @Override
+    public AccountSnapshot getSnapshot(AccountId accountId, int offset, int limit) throws AccountNotFoundException {
+        AccountState state = accountOf(accountId).snapshot();
+        return new AccountSnapshot(accountId, state.version(), state.balance(), state.available(),
+                state.history().size(), state.history().page(offset, limit));
+    }
+
+    @Override
+    public long sealHistory(Instant cutoff, HistorySealer sealer) {
+        List<Account> batchAccounts = new ArrayList<>();
+        List<List<Transaction>> batch = new ArrayList<>();
+        int batchSize = 0;
+        long sealed = 0;
+        for (Account account : accounts) {
+            List<Transaction> sealable = account.sealable(cutoff, sealer.maxBatchSize());
+            if (sealable.isEmpty()) {
+                continue;
+            }
+            if (batchSize + sealable.size() > sealer.maxBatchSize()) {
+                sealed += seal(sealer, batchAccounts, batch);
+                batchSize = 0;
+            }
+            batchAccounts.add(account);
+            batch.add(sealable);
+            batchSize += sealable.size();
+        }
+        return sealed + seal(sealer, batchAccounts, batch);
+    }
+
+    @Override
+    public void promoteToHotAccount(AccountId accountId) throws AccountNotFoundException {
+        accountOf(accountId).promote();
+    }
+
+    @Override
+    public boolean isHotAccount(AccountId accountId) throws AccountNotFoundException {
+        return accountOf(accountId).isHot();
+    }
+
+    /**
+     * Appends a transaction that was already validated when it was first applied, without checking the balance.
+     */
+    void restore(Transaction transaction) throws AccountNotFoundException {
+        accountOf(transaction.accountId()).restore(transaction);
+    }
+
+    /**
+     * Places a hold that was already validated when it was first placed, without checking the available balance.
+     */
+    void restore(Hold hold) throws AccountNotFoundException {
+        accountOf(hold.accountId()).restore(hold);
+    }
+
+    private static long seal(HistorySealer sealer, List<Account> accounts, List<List<Transaction>> histories) {
+        if (histories.isEmpty()) {
+            return 0;
+        }
+        List<SealedRun> runs = sealer.seal(histories);
+        long sealed = 0;
+        for (int i = 0; i < runs.size(); i++) {
+            if (runs.get(i) != null) {
+                accounts.get(i).seal(histories.get(i).size(), runs.get(i));
+                sealed += histories.get(i).size();
+            }
+        }
+        accounts.clear();
+        histories.clear();
+        return sealed;
+    }
+
+    private Account accountOf(AccountId accountId) throws AccountNotFoundException {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            throw new AccountNotFoundException(accountId.toString());
+        }
+        return account;
+    }
+}
@@ -0,0 +1,565 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.exception.AccountNotFoundException;
+import com.teya.ledger.exception.StoreBackpressureException;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.Hold;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Durable store backed by a relational database.
+ * <p>
+ * All reads and the balance checks are served from an {@link InMemoryLedgerStore}, which is rebuilt from the
+ * database on startup. Writes are applied in memory first and then persisted by a single write-behind thread,
+ * which flushes them as multi-row inserts, one transaction per batch, once {@code batchSize} writes have accumulated
+ * or the oldest one has waited {@code maxFlushLag}. At most {@code writeBehindCapacity} writes can be waiting; beyond
+ * that new writes are refused with {@link StoreBackpressureException} before they touch any state. Transient
+ * failures are retried; a write the database refuses outright is logged and kept in the {@code dead_letters} table
+ * for an operator to repair, rather than holding up every write behind it.
+ * <p>
+ * Transactions are numbered in the same step that applies them in memory, so replaying them in number order on
+ * startup applies each account's transactions in their original order. The one exception is a hot account, whose
+ * deposits are numbered as they enter a stripe: replay keeps its balance, but not necessarily where those deposits
+ * sit in its history relative to its other transactions.
+ * <p>
+ * Outstanding holds are kept in their own table: a row is inserted when a hold is placed and deleted when it is
+ * captured, voided or expires.
+ */
+public class JdbcLedgerStore implements LedgerStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcLedgerStore.class);
+
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+    private static final int DEAD_LETTER_TEXT_LENGTH = 4000;
+    private static final StoreBackpressureException BACKPRESSURE = new StoreBackpressureException();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InMemoryLedgerStore memory;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int batchSize;
+    private final long maxFlushLagNanos;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public JdbcLedgerStore(JdbcTemplate jdbcTemplate, LedgerStoreProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        this.memory = new InMemoryLedgerStore(properties.expectedAccounts());
+        this.capacity = new Semaphore(properties.writeBehindCapacity());
+        this.batchSize = properties.batchSize();
+        this.maxFlushLagNanos = properties.maxFlushLag().toNanos();
+        createSchema();
+        load();
+        this.flusher = new Thread(this::runFlusher, "ledger-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public boolean createAccount(AccountId accountId) {
+        reserve();
+        if (!memory.createAccount(accountId)) {
+            capacity.release();
+            return false;
+        }
+        queue.add(new AccountWrite(accountId));
+        return true;
+    }
+
+    @Override
+    public boolean[] createAccounts(List<AccountId> accountIds, List<Transaction> openingDeposits) {
+        int writes = accountIds.size();
+        for (Transaction deposit : openingDeposits) {
+            if (deposit != null) {
+                writes++;
+            }
+        }
+        if (!capacity.tryAcquire(writes)) {
+            throw BACKPRESSURE;
+        }
+        // Opening deposits are numbered before their accounts are published, and so ahead of any later update.
+        long nextSequence = sequence.getAndAdd(writes - accountIds.size()) + 1;
+        boolean[] created = memory.createAccounts(accountIds, openingDeposits);
+        int unused = 0;
+        for (int i = 0; i < created.length; i++) {
+            Transaction deposit = openingDeposits.get(i);
+            long depositSequence = deposit == null ? 0 : nextSequence++;
+            if (!created[i]) {
+                unused += deposit == null ? 1 : 2;
+                continue;
+            }
+            queue.add(new AccountWrite(accountIds.get(i)));
+            if (deposit != null) {
+                queue.add(new TransactionWrite(depositSequence, deposit));
+            }
+        }
+        capacity.release(unused);
+        return created;
+    }
+
+    @Override
+    public BigDecimal getBalance(AccountId accountId) throws AccountNotFoundException {
+        return memory.getBalance(accountId);
+    }
+
+    @Override
+    public boolean append(Transaction transaction) throws AccountNotFoundException {
+        reserve();
+        SequenceTicket ticket = new SequenceTicket(sequence);
+        boolean applied = false;
+        try {
+            applied = memory.append(transaction, ticket);
+        } finally {
+            if (!applied) {
+                capacity.release();
+            }
+        }
+        if (applied) {
+            queue.add(new TransactionWrite(ticket.number(), transaction));
+        }
+        return applied;
+    }
+
+    @Override
+    public boolean placeHold(Hold hold) throws AccountNotFoundException {
+        reserve();
+        boolean placed = false;
+        try {
+            placed = memory.placeHold(hold);
+        } finally {
+            if (!placed) {
+                capacity.release();
+            }
+        }
+        if (placed) {
+            queue.add(new HoldWrite(hold));
+        }
+        return placed;
+    }
+
+    @Override
+    public Hold getHold(AccountId accountId, UUID holdId) throws AccountNotFoundException {
+        return memory.getHold(accountId, holdId);
+    }
+
+    @Override
+    public boolean captureHold(UUID holdId, Transaction capture) throws AccountNotFoundException {
+        if (!capacity.tryAcquire(2)) {
+            throw BACKPRESSURE;
+        }
+        SequenceTicket ticket = new SequenceTicket(sequence);
+        boolean captured = false;
+        try {
+            captured = memory.captureHold(holdId, capture, ticket);
+        } finally {
+            if (!captured) {
+                capacity.release(2);
+            }
+        }
+        if (captured) {
+            queue.add(new TransactionWrite(ticket.number(), capture));
+            queue.add(new HoldRelease(holdId));
+        }
+        return captured;
+    }
+
+    @Override
+    public Hold releaseHold(AccountId accountId, UUID holdId) throws AccountNotFoundException {
+        reserve();
+        Hold released = null;
+        try {
+            released = memory.releaseHold(accountId, holdId);
+        } finally {
+            if (released == null) {
+                capacity.release();
+            }
+        }
+        if (released != null) {
+            queue.add(new HoldRelease(holdId));
+        }
+        return released;
+    }
+
+    @Override
+    public void forEachHold(Consumer<Hold> action) {
+        memory.forEachHold(action);
+    }
+
+    @Override
+    public List<Transaction> getTransactions(AccountId accountId) throws AccountNotFoundException {
+        return memory.getTransactions(accountId);
+    }
+
+    @Override
+    public AccountSnapshot getSnapshot(AccountId accountId, int offset, int limit) throws AccountNotFoundException {
+        return memory.getSnapshot(accountId, offset, limit);
+    }
+
+    @Override
+    public long sealHistory(Instant cutoff, HistorySealer sealer) {
+        return memory.sealHistory(cutoff, sealer);
+    }
+
+    @Override
+    public void promoteToHotAccount(AccountId accountId) throws AccountNotFoundException {
+        memory.promoteToHotAccount(accountId);
+    }
+
+    @Override
+    public boolean isHotAccount(AccountId accountId) throws AccountNotFoundException {
+        return memory.isHotAccount(accountId);
+    }
+
+    /**
+     * @return the number of writes that are applied in memory but not yet persisted
+     */
+    public int pendingWrites() {
+        return queue.size();
+    }
+
+    /**
+     * @return {@code true} while the write-behind queue is full and new writes are being refused
+     */
+    public boolean isBackpressured() {
+        return capacity.availablePermits() == 0;
+    }
+
+    /**
+     * Stops the write-behind thread once everything still queued has been persisted.
+     * This waits for at most one flush lag plus the time the remaining flushes take.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        flusher.join();
+    }
+
+    private void reserve() {
+        if (!capacity.tryAcquire()) {
+            throw BACKPRESSURE;
+        }
+    }
+
+    private void createSchema() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS accounts (
+                    id VARCHAR(64) PRIMARY KEY
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS transactions (
+                    seq BIGINT PRIMARY KEY,
+                    id UUID NOT NULL,
+                    account_id VARCHAR(64) NOT NULL,
+                    amount NUMERIC(38, 18) NOT NULL,
+                    amount_scale INT NOT NULL,
+                    type VARCHAR(16) NOT NULL,
+                    created_at TIMESTAMP(9) WITH TIME ZONE NOT NULL
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS holds (
+                    id UUID PRIMARY KEY,
+                    account_id VARCHAR(64) NOT NULL,
+                    amount NUMERIC(38, 18) NOT NULL,
+                    amount_scale INT NOT NULL,
+                    created_at TIMESTAMP(9) WITH TIME ZONE NOT NULL,
+                    expires_at TIMESTAMP(9) WITH TIME ZONE NOT NULL
+                )""");
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS dead_letters (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    kind VARCHAR(32) NOT NULL,
+                    payload VARCHAR(%d) NOT NULL,
+                    error VARCHAR(%d) NOT NULL,
+                    failed_at TIMESTAMP(9) WITH TIME ZONE NOT NULL
+                )""".formatted(DEAD_LETTER_TEXT_LENGTH, DEAD_LETTER_TEXT_LENGTH));
+    }
+
+    private void load() {
+        jdbcTemplate.query("SELECT id FROM accounts", rs -> {
+            memory.createAccount(AccountId.parse(rs.getString(1)));
+        });
+        jdbcTemplate.query("SELECT seq, id, account_id, amount, amount_scale, type, created_at FROM transactions ORDER BY seq", rs -> {
+            sequence.set(rs.getLong(1));
+            memory.restore(new Transaction(
+                    rs.getObject(2, UUID.class),
+                    AccountId.parse(rs.getString(3)),
+                    rs.getBigDecimal(4).setScale(rs.getInt(5)),
+                    TransactionType.valueOf(rs.getString(6)),
+                    rs.getObject(7, OffsetDateTime.class).toInstant()
+            ));
+        });
+        jdbcTemplate.query("SELECT id, account_id, amount, amount_scale, created_at, expires_at FROM holds", rs -> {
+            memory.restore(new Hold(
+                    rs.getObject(1, UUID.class),
+                    AccountId.parse(rs.getString(2)),
+                    rs.getBigDecimal(3).setScale(rs.getInt(4)),
+                    rs.getObject(5, OffsetDateTime.class).toInstant(),
+                    rs.getObject(6, OffsetDateTime.class).toInstant()
+            ));
+        });
+    }
+
+    private void runFlusher() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                capacity.release(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for a first write, then keeps collecting until the batch is full or that write has waited the maximum lag.
+     */
+    private void collect(List<PendingWrite> batch) throws InterruptedException {
+        PendingWrite first = running ? queue.poll(maxFlushLagNanos, TimeUnit.NANOSECONDS) : queue.poll();
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxFlushLagNanos;
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !running) {
+                return;
+            }
+            PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Persists the batch in one transaction. A failure that retrying cannot fix is most likely down to a single
+     * write, so the writes are then persisted one at a time instead: the rest still reach the database, and those
+     * that fail again are set aside in the {@code dead_letters} table.
+     */
+    private void flush(List<PendingWrite> batch) {
+        List<PendingWrite> writes = withoutCancelledHolds(batch);
+        if (writes.isEmpty()) {
+            return;
+        }
+        try {
+            persistWithRetry(writes);
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                log.error("Dropping {} unflushed ledger writes on shutdown", writes.size(), e);
+                return;
+            }
+            log.error("Failed to flush {} ledger writes, persisting them one at a time", writes.size(), e);
+            for (PendingWrite write : writes) {
+                try {
+                    persistWithRetry(List.of(write));
+                } catch (RuntimeException writeFailure) {
+                    deadLetter(write, writeFailure);
+                }
+            }
+        }
+    }
+
+    /**
+     * Persists the writes in one transaction, retrying while the failure is transient and the store is running.
+     */
+    private void persistWithRetry(List<PendingWrite> writes) {
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(writes));
+                return;
+            } catch (RuntimeException e) {
+                if (!running || !isTransient(e)) {
+                    throw e;
+                }
+                log.warn("Failed to flush {} ledger writes, retrying", writes.size(), e);
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * A lost connection is reported as a resource failure rather than as a transient one, but retrying fixes it all
+     * the same.
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    private void deadLetter(PendingWrite write, RuntimeException failure) {
+        log.error("Dead-lettering ledger write {}", write, failure);
+        try {
+            jdbcTemplate.update("INSERT INTO dead_letters (kind, payload, error, failed_at) VALUES (?, ?, ?, ?)",
+                    write.getClass().getSimpleName(),
+                    truncate(write.toString()),
+                    truncate(String.valueOf(failure.getMessage())),
+                    OffsetDateTime.now(ZoneOffset.UTC));
+        } catch (RuntimeException e) {
+            log.error("Failed to dead-letter ledger write {}", write, e);
+        }
+    }
+
+    /**
+     * A hold placed and released within the same batch never reaches the database. Its release can be queued ahead
+     * of its placement by a racing thread, so the pair is cancelled in either order.
+     */
+    private static List<PendingWrite> withoutCancelledHolds(List<PendingWrite> batch) {
+        Set<UUID> placed = new HashSet<>();
+        Set<UUID> released = new HashSet<>();
+        for (PendingWrite write : batch) {
+            switch (write) {
+                case HoldWrite hold -> placed.add(hold.hold().id());
+                case HoldRelease release -> released.add(release.holdId());
+                default -> {
+                }
+            }
+        }
+        placed.retainAll(released);
+        if (placed.isEmpty()) {
+            return batch;
+        }
+        List<PendingWrite> writes = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            UUID holdId = switch (write) {
+                case HoldWrite hold -> hold.hold().id();
+                case HoldRelease release -> release.holdId();
+                default -> null;
+            };
+            if (holdId == null || !placed.contains(holdId)) {
+                writes.add(write);
+            }
+        }
+        return writes;
+    }
+
+    private void persist(List<PendingWrite> writes) {
+        List<Object> accountArgs = new ArrayList<>();
+        List<Object> transactionArgs = new ArrayList<>();
+        List<Object> holdArgs = new ArrayList<>();
+        List<Object> releasedHolds = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            switch (write) {
+                case AccountWrite account -> accountArgs.add(account.accountId().toString());
+                case TransactionWrite tx -> {
+                    Transaction transaction = tx.transaction();
+                    transactionArgs.add(tx.sequence());
+                    transactionArgs.add(transaction.id());
+                    transactionArgs.add(transaction.accountId().toString());
+                    transactionArgs.add(transaction.amount());
+                    transactionArgs.add(transaction.amount().scale());
+                    transactionArgs.add(transaction.type().name());
+                    transactionArgs.add(OffsetDateTime.ofInstant(transaction.timestamp(), ZoneOffset.UTC));
+                }
+                case HoldWrite placed -> {
+                    Hold hold = placed.hold();
+                    holdArgs.add(hold.id());
+                    holdArgs.add(hold.accountId().toString());
+                    holdArgs.add(hold.amount());
+                    holdArgs.add(hold.amount().scale());
+                    holdArgs.add(OffsetDateTime.ofInstant(hold.createdAt(), ZoneOffset.UTC));
+                    holdArgs.add(OffsetDateTime.ofInstant(hold.expiresAt(), ZoneOffset.UTC));
+                }
+                case HoldRelease release -> releasedHolds.add(release.holdId());
+            }
+        }
+        // Accounts go first so that a batch never persists a transaction ahead of its account.
+        if (!accountArgs.isEmpty()) {
+            jdbcTemplate.update(multiRowInsert("INSERT INTO accounts (id) VALUES ", "(?)", accountArgs.size()),
+                    accountArgs.toArray());
+        }
+        if (!transactionArgs.isEmpty()) {
+            jdbcTemplate.update(multiRowInsert(
+                    "INSERT INTO transactions (seq, id, account_id, amount, amount_scale, type, created_at) VALUES ",
+                    "(?, ?, ?, ?, ?, ?, ?)", transactionArgs.size() / 7), transactionArgs.toArray());
+        }
+        if (!holdArgs.isEmpty()) {
+            jdbcTemplate.update(multiRowInsert(
+                    "INSERT INTO holds (id, account_id, amount, amount_scale, created_at, expires_at) VALUES ",
+                    "(?, ?, ?, ?, ?, ?)", holdArgs.size() / 6), holdArgs.toArray());
+        }
+        if (!releasedHolds.isEmpty()) {
+            jdbcTemplate.update(inList("DELETE FROM holds WHERE id IN ", releasedHolds.size()), releasedHolds.toArray());
+        }
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= DEAD_LETTER_TEXT_LENGTH ? text : text.substring(0, DEAD_LETTER_TEXT_LENGTH);
+    }
+
+    private static String multiRowInsert(String prefix, String row, int rows) {
+        StringBuilder sql = new StringBuilder(prefix.length() + rows * (row.length() + 2)).append(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+
+    private static String inList(String prefix, int values) {
+        StringBuilder sql = new StringBuilder(prefix.length() + values * 3 + 2).append(prefix).append('(');
+        for (int i = 0; i < values; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append('?');
+        }
+        return sql.append(')').toString();
+    }
+
+    private sealed interface PendingWrite permits AccountWrite, TransactionWrite, HoldWrite, HoldRelease {}
+
+    private record AccountWrite(AccountId accountId) implements PendingWrite {}
+
+    private record TransactionWrite(long sequence, Transaction transaction) implements PendingWrite {}
+
+    private record HoldWrite(Hold hold) implements PendingWrite {}
+
+    private record HoldRelease(UUID holdId) implements PendingWrite {}
+}
@@ -0,0 +1,120 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.exception.AccountNotFoundException;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.Hold;
+import com.teya.ledger.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Storage for account balances and transaction history.
+ * <p>
+ * Implementations must apply a transaction to the balance and to the history of its account atomically
+ * with respect to the no-negative-balance rule: a withdrawal is either applied in full or not at all.
+ * Outstanding holds count against that rule, so neither a withdrawal nor a new hold can take the held funds.
+ * Each read returns a single version of the account, so a balance never disagrees with the history it came with.
+ */
+public interface LedgerStore {
+
+    /**
+     * @return {@code false} if an account with this id already exists
+     */
+    boolean createAccount(AccountId accountId);
+
+    /**
+     * Creates accounts in one pass. Each account's opening deposit, if any, is applied together with its creation.
+     *
+     * @param openingDeposits one per account, {@code null} for an account that starts empty
+     * @return for each account, {@code false} if an account with its id already exists
+     */
+    default boolean[] createAccounts(List<AccountId> accountIds, List<Transaction> openingDeposits) {
+        boolean[] created = new boolean[accountIds.size()];
+        for (int i = 0; i < created.length; i++) {
+            created[i] = createAccount(accountIds.get(i));
+            if (created[i] && openingDeposits.get(i) != null) {
+                append(openingDeposits.get(i));
+            }
+        }
+        return created;
+    }
+
+    BigDecimal getBalance(AccountId accountId) throws AccountNotFoundException;
+
+    /**
+     * Applies a deposit or withdrawal to the account's balance and appends it to its history.
+     *
+     * @return {@code false} if the withdrawal exceeds the available balance, in which case nothing is changed
+     */
+    boolean append(Transaction transaction) throws AccountNotFoundException;
+
+    /**
+     * Sets the hold's amount aside on its account.
+     *
+     * @return {@code false} if the amount exceeds the available balance, in which case nothing is changed
+     */
+    boolean placeHold(Hold hold) throws AccountNotFoundException;
+
+    /**
+     * @return the outstanding hold, or {@code null} if the account has no outstanding hold with this ID
+     */
+    Hold getHold(AccountId accountId, UUID holdId) throws AccountNotFoundException;
+
+    /**
+     * Releases the hold and appends {@code capture}, a withdrawal of at most the held amount, in its place.
+     * Both take effect together.
+     *
+     * @return {@code false} if the hold is no longer outstanding, in which case nothing is changed
+     */
+    boolean captureHold(UUID holdId, Transaction capture) throws AccountNotFoundException;
+
+    /**
+     * Releases the hold without moving any funds.
+     *
+     * @return the released hold, or {@code null} if it was no longer outstanding
+     */
+    Hold releaseHold(AccountId accountId, UUID holdId) throws AccountNotFoundException;
+
+    /**
+     * Passes every outstanding hold, across all accounts, to {@code action}.
+     */
+    void forEachHold(Consumer<Hold> action);
+
+    /**
+     * @return the account's history in the order it was applied
+     */
+    List<Transaction> getTransactions(AccountId accountId) throws AccountNotFoundException;
+
+    /**
+     * @return the balance, the history size and up to {@code limit} transactions, most recent first after
+     * skipping {@code offset}, all taken from the same version of the account
+     */
+    AccountSnapshot getSnapshot(AccountId accountId, int offset, int limit) throws AccountNotFoundException;
+
+    /**
+     * Moves history older than {@code cutoff} out of the heap-resident part of each account, using {@code sealer}.
+     * Stores that do not keep history on the heap ignore it.
+     *
+     * @return the number of transactions sealed
+     */
+    default long sealHistory(Instant cutoff, HistorySealer sealer) {
+        return 0;
+    }
+
+    /**
+     * Asks the store to optimise the account for heavy concurrent deposits. Stores without such a mode ignore it.
+     */
+    default void promoteToHotAccount(AccountId accountId) throws AccountNotFoundException {
+        getBalance(accountId);
+    }
+
+    default boolean isHotAccount(AccountId accountId) throws AccountNotFoundException {
+        getBalance(accountId);
+        return false;
+    }
+}
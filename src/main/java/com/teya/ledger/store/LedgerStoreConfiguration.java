@@ -0,0 +1,40 @@
+package com.teya.ledger.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+
+@Configuration
+@EnableConfigurationProperties({LedgerStoreProperties.class, HistoryTieringProperties.class})
+public class LedgerStoreConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "ledger.store.type", havingValue = "memory", matchIfMissing = true)
+    public LedgerStore inMemoryLedgerStore(LedgerStoreProperties properties) {
+        return new InMemoryLedgerStore(properties.expectedAccounts());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ledger.store.type", havingValue = "jdbc")
+    public LedgerStore jdbcLedgerStore(JdbcTemplate jdbcTemplate, LedgerStoreProperties properties) {
+        return new JdbcLedgerStore(jdbcTemplate, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ledger.history.tiering.mode", havingValue = "mapped")
+    public HistoryTiering mappedHistoryTiering(LedgerStore ledgerStore, HistoryTieringProperties properties) throws IOException {
+        HistorySealer sealer = new MappedSegmentSealer(properties.directoryOrDefault(),
+                properties.segmentSize(), properties.maxMappedSegments());
+        return new HistoryTiering(ledgerStore, sealer, properties.hotAge(), properties.sweepInterval());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ledger.history.tiering.mode", havingValue = "compressed")
+    public HistoryTiering compressedHistoryTiering(LedgerStore ledgerStore, HistoryTieringProperties properties) {
+        return new HistoryTiering(ledgerStore, new CompressedBlockSealer(), properties.hotAge(), properties.sweepInterval());
+    }
+}
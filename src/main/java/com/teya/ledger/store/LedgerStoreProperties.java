@@ -0,0 +1,18 @@
+package com.teya.ledger.store;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param expectedAccounts how many accounts the store is sized for up front, to avoid resizing while it fills up
+ */
+@ConfigurationProperties(prefix = "ledger.store")
+public record LedgerStoreProperties(
+        @DefaultValue("memory") String type,
+        @DefaultValue("1024") int expectedAccounts,
+        @DefaultValue("65536") int writeBehindCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("20ms") Duration maxFlushLag
+) {}
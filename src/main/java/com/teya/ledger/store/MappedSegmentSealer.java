@@ -0,0 +1,226 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seals history into immutable segment files that are read back through memory mappings.
+ * <p>
+ * Each {@link #seal} call writes one segment holding a run per account, stored as fixed-size records so that
+ * any transaction in a run can be located from the run's offset alone. The run itself, kept in the account's
+ * history, is the per-account offset index. Reads decode straight from the mapping without copying the bytes.
+ * <p>
+ * At most {@code maxMappedSegments} segments stay mapped; the least recently read one is dropped when another
+ * has to be mapped. Readers that still hold a dropped mapping keep using it safely until they let it go,
+ * at which point the JVM unmaps it.
+ * <p>
+ * Segments are a cache of what is already held by the store's accounts and are not reloaded after a restart.
+ * Each sealer writes them to a directory of its own, created under the configured one, so that instances sharing
+ * that directory never touch each other's files, and deletes them on {@link #close}. The directory of an instance
+ * that did not shut down cleanly is left behind.
+ */
+public class MappedSegmentSealer implements HistorySealer {
+
+    static final int RECORD_SIZE = 38;
+
+    private static final String DIRECTORY_PREFIX = "ledger-segments-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxMappedSegments;
+    private final AtomicLong segmentSequence = new AtomicLong();
+    private final List<Segment> mappedSegments = new ArrayList<>();
+
+    /**
+     * @param parent the directory under which this sealer creates the directory it writes segments to
+     */
+    public MappedSegmentSealer(Path parent, int segmentSize, int maxMappedSegments) throws IOException {
+        if (segmentSize < RECORD_SIZE || maxMappedSegments <= 0) {
+            throw new IllegalArgumentException("Invalid segment configuration");
+        }
+        this.directory = Files.createTempDirectory(Files.createDirectories(parent), DIRECTORY_PREFIX);
+        this.segmentSize = segmentSize;
+        this.maxMappedSegments = maxMappedSegments;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return segmentSize / RECORD_SIZE;
+    }
+
+    @Override
+    public List<SealedRun> seal(List<List<Transaction>> histories) {
+        Path path = directory.resolve(String.format("segment-%08d%s", segmentSequence.incrementAndGet(), SEGMENT_SUFFIX));
+        int[] offsets = new int[histories.size()];
+        int position = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+            for (int i = 0; i < histories.size(); i++) {
+                List<Transaction> history = histories.get(i);
+                if (!history.stream().allMatch(MappedSegmentSealer::isEncodable)) {
+                    offsets[i] = -1;
+                    continue;
+                }
+                offsets[i] = position;
+                for (Transaction transaction : history) {
+                    if (buffer.remaining() < RECORD_SIZE) {
+                        writeFully(channel, buffer);
+                    }
+                    encode(transaction, buffer);
+                    position += RECORD_SIZE;
+                }
+            }
+            writeFully(channel, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write history segment " + path, e);
+        }
+
+        Segment segment = new Segment(path, position);
+        List<SealedRun> runs = new ArrayList<>(histories.size());
+        for (int i = 0; i < histories.size(); i++) {
+            List<Transaction> history = histories.get(i);
+            runs.add(offsets[i] < 0 ? null : new MappedRun(segment, offsets[i], history.size(), history.get(0).accountId()));
+        }
+        return runs;
+    }
+
+    /**
+     * Deletes the segments this sealer wrote, and its directory. Runs sealed by it can no longer be read once
+     * their mapping has been dropped.
+     */
+    @Override
+    public void close() {
+        synchronized (mappedSegments) {
+            mappedSegments.forEach(segment -> segment.mapped = null);
+            mappedSegments.clear();
+        }
+        try {
+            try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+                for (Path segment : segments) {
+                    Files.delete(segment);
+                }
+            }
+            Files.delete(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete history segments in " + directory, e);
+        }
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    int mappedSegmentCount() {
+        synchronized (mappedSegments) {
+            return mappedSegments.size();
+        }
+    }
+
+    private ByteBuffer map(Segment segment) {
+        synchronized (mappedSegments) {
+            MappedByteBuffer mapped = segment.mapped;
+            if (mapped != null) {
+                return mapped;
+            }
+            try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map history segment " + segment.path, e);
+            }
+            segment.mapped = mapped;
+            mappedSegments.add(segment);
+            if (mappedSegments.size() > maxMappedSegments) {
+                Segment leastRecent = mappedSegments.get(0);
+                for (Segment candidate : mappedSegments) {
+                    if (candidate != segment && candidate.lastAccess < leastRecent.lastAccess) {
+                        leastRecent = candidate;
+                    }
+                }
+                leastRecent.mapped = null;
+                mappedSegments.remove(leastRecent);
+            }
+            return mapped;
+        }
+    }
+
+    private static boolean isEncodable(Transaction transaction) {
+        BigDecimal amount = transaction.amount();
+        return amount.unscaledValue().bitLength() < Long.SIZE
+                && amount.scale() >= Byte.MIN_VALUE && amount.scale() <= Byte.MAX_VALUE;
+    }
+
+    private static void encode(Transaction transaction, ByteBuffer buffer) {
+        buffer.putLong(transaction.id().getMostSignificantBits());
+        buffer.putLong(transaction.id().getLeastSignificantBits());
+        buffer.putLong(transaction.amount().unscaledValue().longValueExact());
+        buffer.put((byte) transaction.amount().scale());
+        buffer.put((byte) transaction.type().ordinal());
+        buffer.putLong(transaction.timestamp().getEpochSecond());
+        buffer.putInt(transaction.timestamp().getNano());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private final class Segment {
+
+        private final Path path;
+        private final int length;
+        private volatile MappedByteBuffer mapped;
+        private volatile long lastAccess;
+
+        private Segment(Path path, int length) {
+            this.path = path;
+            this.length = length;
+        }
+
+        ByteBuffer buffer() {
+            lastAccess = System.nanoTime();
+            ByteBuffer buffer = mapped;
+            return buffer != null ? buffer : map(this);
+        }
+    }
+
+    private record MappedRun(Segment segment, int offset, int size, AccountId accountId) implements SealedRun {
+
+        @Override
+        public Transaction get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            ByteBuffer buffer = segment.buffer();
+            int position = offset + index * RECORD_SIZE;
+            return new Transaction(
+                    new UUID(buffer.getLong(position), buffer.getLong(position + 8)),
+                    accountId,
+                    BigDecimal.valueOf(buffer.getLong(position + 16), buffer.get(position + 24)),
+                    TYPES[buffer.get(position + 25)],
+                    Instant.ofEpochSecond(buffer.getLong(position + 26), buffer.getInt(position + 34))
+            );
+        }
+    }
+}
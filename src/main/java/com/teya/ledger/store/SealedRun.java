@@ -0,0 +1,30 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable run of one account's transactions that has been moved off the heap-resident part of its history.
+ */
+public interface SealedRun {
+
+    int size();
+
+    /**
+     * @param index position in the run, {@code 0} being the oldest transaction
+     */
+    Transaction get(int index);
+
+    /**
+     * @return the transactions from {@code from} (inclusive) to {@code to} (exclusive), oldest first
+     */
+    default List<Transaction> slice(int from, int to) {
+        List<Transaction> slice = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            slice.add(get(i));
+        }
+        return slice;
+    }
+}
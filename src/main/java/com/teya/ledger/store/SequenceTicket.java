@@ -0,0 +1,41 @@
+package com.teya.ledger.store;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Numbers one update from a sequence shared by every account.
+ * <p>
+ * {@link Account} takes a number on each attempt to apply the update, after reading the state the attempt builds on
+ * and before swapping in the result, so the number kept is the one taken by the attempt that succeeded. Any later
+ * update to the same account builds on that result and therefore takes a larger number: within an account, numbers
+ * follow the order in which updates were applied.
+ * <p>
+ * Not thread-safe: a ticket belongs to the one thread applying its update.
+ */
+final class SequenceTicket {
+
+    /**
+     * Takes no numbers, for stores that do not need them.
+     */
+    static final SequenceTicket NONE = new SequenceTicket(null);
+
+    private final AtomicLong sequence;
+    private long number;
+
+    SequenceTicket(AtomicLong sequence) {
+        this.sequence = sequence;
+    }
+
+    void take() {
+        if (sequence != null) {
+            number = sequence.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number taken by the last attempt, or {@code 0} if none was taken
+     */
+    long number() {
+        return number;
+    }
+}
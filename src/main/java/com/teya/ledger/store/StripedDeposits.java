@@ -0,0 +1,115 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.Transaction;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * LongAdder-style stripes that absorb deposits for a hot account.
+ * <p>
+ * Each thread prepends its deposits to its own stripe, so concurrent deposits do not CAS on the account state.
+ * Every deposit gets an index that only ever grows within its stripe; the account state records, per stripe,
+ * the last index it has folded in. Stripes are therefore never emptied in a way readers could observe:
+ * entries above the merged index are pending, entries at or below it are already part of the state and are
+ * trimmed away lazily.
+ */
+final class StripedDeposits {
+
+    // Cells are spread 16 references apart so that neighbouring cells do not share a cache line.
+    private static final int PADDING = 16;
+
+    private final AtomicReferenceArray<Deposit> cells;
+    private final int mask;
+
+    StripedDeposits(int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripes);
+        }
+        this.mask = stripes - 1;
+        this.cells = new AtomicReferenceArray<>(stripes * PADDING);
+        for (int i = 0; i < stripes; i++) {
+            cells.set(i * PADDING, new Deposit(0, null, null));
+        }
+    }
+
+    int stripes() {
+        return mask + 1;
+    }
+
+    /**
+     * Records the deposit in the current thread's stripe, numbering it with {@code ticket} in the step that adds it.
+     *
+     * @return the node the deposit was recorded in
+     */
+    Deposit add(Transaction transaction, SequenceTicket ticket) {
+        int cell = currentStripe() * PADDING;
+        while (true) {
+            Deposit head = cells.get(cell);
+            ticket.take();
+            Deposit deposit = new Deposit(head.index() + 1, transaction, head);
+            if (cells.compareAndSet(cell, head, deposit)) {
+                return deposit;
+            }
+        }
+    }
+
+    Deposit[] heads() {
+        Deposit[] heads = new Deposit[stripes()];
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = cells.get(i * PADDING);
+        }
+        return heads;
+    }
+
+    /**
+     * Drops entries that the account state has already folded in. Best effort: a stripe that changes
+     * concurrently is left for the next trim.
+     */
+    void trim(long[] mergedDeposits) {
+        for (int i = 0; i < mergedDeposits.length; i++) {
+            Deposit head = cells.get(i * PADDING);
+            Deposit trimmed = head.without(mergedDeposits[i]);
+            if (trimmed != head) {
+                cells.compareAndSet(i * PADDING, head, trimmed);
+            }
+        }
+    }
+
+    private int currentStripe() {
+        long id = Thread.currentThread().threadId();
+        return (int) (id ^ (id >>> 16)) & mask;
+    }
+
+    /**
+     * Node of a stripe's persistent list, newest first. The oldest node has no transaction and only
+     * carries the index the stripe continues from.
+     */
+    record Deposit(long index, Transaction transaction, Deposit previous) {
+
+        /**
+         * @return this list with every entry at or below {@code mergedIndex} removed
+         */
+        Deposit without(long mergedIndex) {
+            int kept = 0;
+            Deposit stop = this;
+            while (stop.transaction != null && stop.index > mergedIndex) {
+                stop = stop.previous;
+                kept++;
+            }
+            if (stop.transaction == null) {
+                return this;
+            }
+            Deposit[] pending = new Deposit[kept];
+            Deposit node = this;
+            for (int i = 0; i < kept; i++) {
+                pending[i] = node;
+                node = node.previous;
+            }
+            Deposit trimmed = new Deposit(stop.index, null, null);
+            for (int i = kept - 1; i >= 0; i--) {
+                trimmed = new Deposit(pending[i].index, pending[i].transaction, trimmed);
+            }
+            return trimmed;
+        }
+    }
+}
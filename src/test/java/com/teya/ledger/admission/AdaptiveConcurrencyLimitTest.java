@@ -0,0 +1,52 @@
+package com.teya.ledger.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long THRESHOLD_NANOS = 50_000_000L;
+
+    @Test
+    void tryAcquire_shouldRejectOnceLimitIsReached() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, THRESHOLD_NANOS, 0.5);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void release_shouldBackOffMultiplicativelyOnSlowRequests() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 2, 10, THRESHOLD_NANOS, 0.5);
+
+        limit.tryAcquire();
+        limit.release(THRESHOLD_NANOS * 2);
+        assertThat(limit.limit()).isEqualTo(4);
+
+        limit.tryAcquire();
+        limit.release(THRESHOLD_NANOS * 2);
+        limit.tryAcquire();
+        limit.release(THRESHOLD_NANOS * 2);
+        assertThat(limit.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void release_shouldGrowAdditivelyWhileFastAndUtilised() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10, THRESHOLD_NANOS, 0.5);
+
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertThat(limit.tryAcquire()).isTrue();
+            }
+            for (int i = 0; i < 4; i++) {
+                limit.release(1_000_000L);
+            }
+        }
+
+        assertThat(limit.limit()).isGreaterThanOrEqualTo(5);
+        assertThat(limit.inFlight()).isZero();
+    }
+}
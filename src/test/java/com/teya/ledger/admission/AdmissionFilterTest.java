@@ -0,0 +1,186 @@
+package com.teya.ledger.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teya.ledger.controller.LedgerController;
+import com.teya.ledger.dto.CreateHoldRequest;
+import com.teya.ledger.dto.CreateTransactionRequest;
+import com.teya.ledger.exception.ErrorResponse;
+import com.teya.ledger.model.TransactionType;
+import com.teya.ledger.service.LedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Buckets refill far too slowly to matter here, and they outlive each test, so every test uses its own accounts
+ * and remote addresses.
+ */
+@WebMvcTest(value = LedgerController.class, properties = {
+        "ledger.admission.account-permits-per-second=0.001",
+        "ledger.admission.account-burst=1",
+        "ledger.admission.client-permits-per-second=0.001",
+        "ledger.admission.client-burst=3",
+        "ledger.admission.trusted-proxies=10.0.0.1"
+})
+class AdmissionFilterTest {
+
+    private static final String ACCOUNTS_URL = "/api/v1/ledger/accounts/";
+    private static final String TRUSTED_PROXY = "10.0.0.1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private LedgerService ledgerService;
+
+    @Test
+    void shouldRejectWritesOverTheAccountLimitWith429() throws Exception {
+        String accountId = UUID.randomUUID().toString();
+        deposit("192.0.2.1", accountId, null).andExpect(status().isCreated());
+
+        MvcResult result = deposit("192.0.2.1", accountId, null)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andReturn();
+
+        ErrorResponse error = objectMapper.readValue(result.getResponse().getContentAsString(), ErrorResponse.class);
+        assertThat(error.status()).isEqualTo(429);
+        assertThat(error.message()).isEqualTo("Rate limit exceeded for account");
+    }
+
+    @Test
+    void shouldLimitAsyncSubmissionsWithTheAccountBucket() throws Exception {
+        String accountId = UUID.randomUUID().toString();
+        deposit("192.0.2.2", accountId, null).andExpect(status().isCreated());
+
+        mockMvc.perform(post(ACCOUNTS_URL + accountId + "/transactions/async")
+                        .with(remoteAddress("192.0.2.2"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(depositBody()))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void shouldLimitHoldsAndCapturesWithTheAccountBucket() throws Exception {
+        String accountId = UUID.randomUUID().toString();
+        deposit("192.0.2.6", accountId, null).andExpect(status().isCreated());
+
+        mockMvc.perform(post(ACCOUNTS_URL + accountId + "/holds")
+                        .with(remoteAddress("192.0.2.6"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateHoldRequest(BigDecimal.TEN, null))))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(post(ACCOUNTS_URL + accountId + "/holds/" + UUID.randomUUID() + "/capture")
+                        .with(remoteAddress("192.0.2.6")))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void shouldLimitWritesWhateverSpellingOfThePathReachesThem() throws Exception {
+        String accountId = UUID.randomUUID().toString();
+        deposit("192.0.2.7", accountId, null).andExpect(status().isCreated());
+
+        for (String path : List.of(
+                accountId + "/transactions;x=1",
+                accountId + ";a=1/transactions",
+                accountId + "/%74ransactions",
+                accountId.toUpperCase() + "/transactions")) {
+            mockMvc.perform(post(URI.create(ACCOUNTS_URL + path))
+                            .with(remoteAddress("192.0.2.7"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(depositBody()))
+                    .andExpect(status().isTooManyRequests());
+        }
+    }
+
+    @Test
+    void shouldNotLimitReads() throws Exception {
+        String accountId = UUID.randomUUID().toString();
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get(ACCOUNTS_URL + accountId + "/transactions").with(remoteAddress("192.0.2.3")))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void shouldGiveBackClientTokenWhenAccountLimitRejects() throws Exception {
+        String accountId = UUID.randomUUID().toString();
+        deposit("192.0.2.4", accountId, null).andExpect(status().isCreated());
+        deposit("192.0.2.4", accountId, null).andExpect(status().isTooManyRequests());
+
+        deposit("192.0.2.4", UUID.randomUUID().toString(), null).andExpect(status().isCreated());
+        deposit("192.0.2.4", UUID.randomUUID().toString(), null).andExpect(status().isCreated());
+        MvcResult result = deposit("192.0.2.4", UUID.randomUUID().toString(), null)
+                .andExpect(status().isTooManyRequests())
+                .andReturn();
+
+        ErrorResponse error = objectMapper.readValue(result.getResponse().getContentAsString(), ErrorResponse.class);
+        assertThat(error.message()).isEqualTo("Rate limit exceeded for client");
+    }
+
+    @Test
+    void shouldIgnoreClientIdHeaderFromUntrustedAddress() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            deposit("192.0.2.5", UUID.randomUUID().toString(), "client-" + i).andExpect(status().isCreated());
+        }
+
+        deposit("192.0.2.5", UUID.randomUUID().toString(), "client-3").andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void shouldKeyOnClientIdHeaderFromTrustedProxy() throws Exception {
+        String clientId = UUID.randomUUID().toString();
+        for (int i = 0; i < 3; i++) {
+            deposit(TRUSTED_PROXY, UUID.randomUUID().toString(), clientId).andExpect(status().isCreated());
+        }
+        deposit(TRUSTED_PROXY, UUID.randomUUID().toString(), clientId).andExpect(status().isTooManyRequests());
+
+        deposit(TRUSTED_PROXY, UUID.randomUUID().toString(), UUID.randomUUID().toString())
+                .andExpect(status().isCreated());
+    }
+
+    private ResultActions deposit(String remoteAddress, String accountId, String clientId) throws Exception {
+        return mockMvc.perform(post(ACCOUNTS_URL + accountId + "/transactions")
+                .with(remoteAddress(remoteAddress))
+                .with(request -> {
+                    if (clientId != null) {
+                        request.addHeader(AdmissionFilter.CLIENT_ID_HEADER, clientId);
+                    }
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(depositBody()));
+    }
+
+    private String depositBody() throws Exception {
+        return objectMapper.writeValueAsString(new CreateTransactionRequest(BigDecimal.TEN, TransactionType.DEPOSIT));
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
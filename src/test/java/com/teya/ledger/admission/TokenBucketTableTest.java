@@ -0,0 +1,59 @@
+package com.teya.ledger.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTableTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_shouldAdmitBurstThenReject() {
+        TokenBucketTable buckets = new TokenBucketTable(1024, 10, 5, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(buckets.tryAcquire("account")).isTrue();
+        }
+        assertThat(buckets.tryAcquire("account")).isFalse();
+    }
+
+    @Test
+    void tryAcquire_shouldRefillAtConfiguredRate() {
+        TokenBucketTable buckets = new TokenBucketTable(1024, 10, 1, clock::get);
+
+        assertThat(buckets.tryAcquire("account")).isTrue();
+        assertThat(buckets.tryAcquire("account")).isFalse();
+
+        clock.addAndGet(100_000_000L);
+
+        assertThat(buckets.tryAcquire("account")).isTrue();
+        assertThat(buckets.tryAcquire("account")).isFalse();
+    }
+
+    @Test
+    void tryAcquire_shouldKeepSeparateBucketsPerKey() {
+        TokenBucketTable buckets = new TokenBucketTable(1024, 10, 1, clock::get);
+
+        assertThat(buckets.tryAcquire("account-1")).isTrue();
+        assertThat(buckets.tryAcquire("account-1")).isFalse();
+        assertThat(buckets.tryAcquire("account-2")).isTrue();
+    }
+
+    @Test
+    void refund_shouldGiveBackATokenWithoutExceedingBurst() {
+        TokenBucketTable buckets = new TokenBucketTable(1024, 10, 2, clock::get);
+
+        buckets.refund("account");
+        assertThat(buckets.tryAcquire("account")).isTrue();
+        assertThat(buckets.tryAcquire("account")).isTrue();
+        assertThat(buckets.tryAcquire("account")).isFalse();
+
+        buckets.refund("account");
+
+        assertThat(buckets.tryAcquire("account")).isTrue();
+        assertThat(buckets.tryAcquire("account")).isFalse();
+    }
+}
@@ -0,0 +1,66 @@
+package com.teya.ledger.benchmark;
+
+import com.teya.ledger.id.TimeOrderedIdGenerator;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.store.AccountIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of looking up an account by the ID string from a request path.
+ * <p>
+ * {@code stringKeyed} is the original {@link ConcurrentHashMap} keyed by the string form. {@code indexed} parses the
+ * string into an {@link AccountId} and looks it up in an {@link AccountIndex}. Run with {@code -p accounts=50000000}
+ * and a heap of at least 12 GB to measure at 50M accounts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AccountIndexBenchmark {
+
+    private static final Object ACCOUNT = new Object();
+
+    @Param({"1000000"})
+    private int accounts;
+
+    private String[] accountIds;
+    private Map<String, Object> stringKeyed;
+    private AccountIndex<Object> indexed;
+
+    @Setup
+    public void setUp() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1);
+        accountIds = new String[accounts];
+        stringKeyed = new ConcurrentHashMap<>();
+        indexed = new AccountIndex<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            AccountId accountId = AccountId.of(generator.nextId());
+            accountIds[i] = accountId.toString();
+            stringKeyed.put(accountIds[i], ACCOUNT);
+            indexed.putIfAbsent(accountId, ACCOUNT);
+        }
+    }
+
+    @Benchmark
+    public Object stringKeyed() {
+        return stringKeyed.get(randomAccountId());
+    }
+
+    @Benchmark
+    public Object indexed() {
+        return indexed.get(AccountId.parse(randomAccountId()));
+    }
+
+    private String randomAccountId() {
+        // A fresh string, as a request would carry, so its hash code is not already cached.
+        return new String(accountIds[ThreadLocalRandom.current().nextInt(accounts)]);
+    }
+}
@@ -0,0 +1,58 @@
+package com.teya.ledger.benchmark;
+
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+import com.teya.ledger.store.CompressedBlockSealer;
+import com.teya.ledger.store.InMemoryLedgerStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read throughput of an account history that is either fully on the heap ({@code heap}) or sealed into
+ * compressed blocks ({@code compressed}), for a page from the middle of the history and for the whole of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class HistoryReadBenchmark {
+
+    private static final AccountId ACCOUNT_ID = new AccountId(0, 1);
+    private static final int HISTORY_SIZE = 10_000;
+
+    @Param({"heap", "compressed"})
+    private String tiering;
+
+    private InMemoryLedgerStore store;
+
+    @Setup
+    public void setUp() {
+        store = new InMemoryLedgerStore();
+        store.createAccount(ACCOUNT_ID);
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            store.append(new Transaction(ACCOUNT_ID, BigDecimal.valueOf(i % 10_000, 2), TransactionType.DEPOSIT));
+        }
+        if (tiering.equals("compressed")) {
+            store.sealHistory(Instant.now().plusSeconds(1), new CompressedBlockSealer());
+        }
+    }
+
+    @Benchmark
+    public AccountSnapshot page() {
+        return store.getSnapshot(ACCOUNT_ID, HISTORY_SIZE / 2, 50);
+    }
+
+    @Benchmark
+    public List<Transaction> fullHistory() {
+        return store.getTransactions(ACCOUNT_ID);
+    }
+}
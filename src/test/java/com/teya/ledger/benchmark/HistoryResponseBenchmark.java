@@ -0,0 +1,70 @@
+package com.teya.ledger.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.teya.ledger.json.TransactionJsonWriter;
+import com.teya.ledger.mapper.TransactionMapper;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a full account history as a response body, by mapping it to DTOs for Jackson ({@code jackson})
+ * or by writing the stored transactions directly ({@code direct}). Run with {@code -prof gc} to compare the bytes
+ * allocated per write.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoryResponseBenchmark {
+
+    private static final AccountId ACCOUNT_ID = new AccountId(0, 1);
+    private static final int HISTORY_SIZE = 1_000;
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final TransactionJsonWriter writer = new TransactionJsonWriter();
+    private List<Transaction> history;
+
+    @Setup
+    public void setUp() {
+        history = new ArrayList<>(HISTORY_SIZE);
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            history.add(new Transaction(ACCOUNT_ID, BigDecimal.valueOf(i % 10_000, 2), TransactionType.DEPOSIT));
+        }
+    }
+
+    @Benchmark
+    public void jackson() throws IOException {
+        objectMapper.writeValue(DISCARD, history.stream().map(TransactionMapper::toDto).toList());
+    }
+
+    @Benchmark
+    public void direct() throws IOException {
+        writer.writeTransactions(history, DISCARD);
+    }
+}
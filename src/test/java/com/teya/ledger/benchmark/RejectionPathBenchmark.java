@@ -0,0 +1,106 @@
+package com.teya.ledger.benchmark;
+
+import com.teya.ledger.dto.CreateTransactionRequest;
+import com.teya.ledger.exception.ErrorResponse;
+import com.teya.ledger.exception.GlobalExceptionHandler;
+import com.teya.ledger.exception.InsufficientBalanceException;
+import com.teya.ledger.hold.HoldExpiry;
+import com.teya.ledger.hold.HoldProperties;
+import com.teya.ledger.id.TimeOrderedIdGenerator;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.TransactionType;
+import com.teya.ledger.pipeline.PipelineProperties;
+import com.teya.ledger.pipeline.TransactionPipeline;
+import com.teya.ledger.service.LedgerService;
+import com.teya.ledger.store.InMemoryLedgerStore;
+import com.teya.ledger.store.LedgerStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of rejected withdrawals.
+ * <p>
+ * {@code before} reproduces the original path: an exception with a full stack trace and a freshly built
+ * {@link ErrorResponse}. {@code after} goes through {@link LedgerService} and {@link GlobalExceptionHandler}.
+ * Both throw from {@code depth} frames down, to approximate the servlet stack a request runs on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RejectionPathBenchmark {
+
+    private static final CreateTransactionRequest OVERDRAFT =
+            new CreateTransactionRequest(new BigDecimal("10.00"), TransactionType.WITHDRAWAL);
+
+    @Param({"20", "120"})
+    private int depth;
+
+    private LedgerService ledgerService;
+    private HoldExpiry holdExpiry;
+    private TransactionPipeline transactionPipeline;
+    private GlobalExceptionHandler exceptionHandler;
+    private AccountId accountId;
+
+    @Setup
+    public void setUp() {
+        LedgerStore ledgerStore = new InMemoryLedgerStore();
+        holdExpiry = new HoldExpiry(ledgerStore, HoldProperties.DEFAULTS);
+        transactionPipeline = new TransactionPipeline(ledgerStore, PipelineProperties.DEFAULTS);
+        ledgerService = new LedgerService(ledgerStore, TimeOrderedIdGenerator.shared(), holdExpiry, transactionPipeline);
+        exceptionHandler = new GlobalExceptionHandler();
+        accountId = AccountId.parse(ledgerService.createAccount().accountId());
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        transactionPipeline.close();
+        holdExpiry.close();
+    }
+
+    @Benchmark
+    public ErrorResponse before() {
+        return nested(depth, () -> {
+            try {
+                throw new StackfulInsufficientBalanceException();
+            } catch (StackfulInsufficientBalanceException ex) {
+                return new ErrorResponse(400, ex.getMessage(), LocalDateTime.now());
+            }
+        });
+    }
+
+    @Benchmark
+    public ErrorResponse after() {
+        return nested(depth, () -> {
+            try {
+                ledgerService.createTransaction(OVERDRAFT, accountId);
+                throw new IllegalStateException("Withdrawal should have been rejected");
+            } catch (InsufficientBalanceException ex) {
+                return exceptionHandler.handleInsufficientBalanceException(ex).getBody();
+            }
+        });
+    }
+
+    private static ErrorResponse nested(int depth, Rejection rejection) {
+        if (depth == 0) {
+            return rejection.run();
+        }
+        return nested(depth - 1, rejection);
+    }
+
+    private interface Rejection {
+        ErrorResponse run();
+    }
+
+    private static final class StackfulInsufficientBalanceException extends RuntimeException {
+        StackfulInsufficientBalanceException() {
+            super("Account has insufficient balance for this transaction");
+        }
+    }
+}
@@ -3,11 +3,26 @@ package com.teya.ledger.controller;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.teya.ledger.dto.AccountDTO;
+import com.teya.ledger.dto.AccountViewDTO;
+import com.teya.ledger.dto.CaptureHoldRequest;
+import com.teya.ledger.dto.CreateAccountsRequest;
+import com.teya.ledger.dto.CreateHoldRequest;
 import com.teya.ledger.dto.CreateTransactionRequest;
+import com.teya.ledger.dto.HoldDTO;
+import com.teya.ledger.dto.SubmissionDTO;
 import com.teya.ledger.dto.TransactionDTO;
 import com.teya.ledger.exception.AccountNotFoundException;
 import com.teya.ledger.exception.ErrorResponse;
+import com.teya.ledger.exception.HoldNotFoundException;
 import com.teya.ledger.exception.InsufficientBalanceException;
+import com.teya.ledger.exception.SubmissionNotFoundException;
+import com.teya.ledger.mapper.AccountSnapshotMapper;
+import com.teya.ledger.mapper.TransactionMapper;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.SubmissionStatus;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionHistory;
 import com.teya.ledger.model.TransactionType;
 import com.teya.ledger.service.LedgerService;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +39,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -68,13 +84,72 @@ class LedgerControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/v1/ledger/accounts/bulk")
+    class CreateAccountsTests {
+
+        @Test
+        void shouldStreamCreatedAccountsWith201() throws Exception {
+            CreateAccountsRequest request = new CreateAccountsRequest(2, List.of(new BigDecimal("10.00"), BigDecimal.ZERO));
+            List<AccountId> accountIds = List.of(AccountId.of(UUID.randomUUID()), AccountId.of(UUID.randomUUID()));
+            when(ledgerService.createAccounts(request)).thenReturn(accountIds);
+
+            MvcResult asyncResult = mockMvc.perform(post(BASE_URL + "/accounts/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isCreated())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andReturn();
+
+            List<AccountDTO> actual = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<>() {}
+            );
+
+            assertThat(actual).extracting(AccountDTO::accountId)
+                    .containsExactlyElementsOf(accountIds.stream().map(AccountId::toString).toList());
+            verify(ledgerService, times(1)).createAccounts(request);
+        }
+
+        @Test
+        void shouldReturn400WhenOpeningBalancesDoNotMatchCount() throws Exception {
+            CreateAccountsRequest request = new CreateAccountsRequest(3, List.of(BigDecimal.ONE));
+
+            MvcResult result = mockMvc.perform(post(BASE_URL + "/accounts/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest())
+                    .andReturn();
+
+            ErrorResponse actual = objectMapper.readValue(result.getResponse().getContentAsString(), ErrorResponse.class);
+
+            assertThat(actual.message()).contains("Opening balances must be given for every account or for none");
+            verify(ledgerService, times(0)).createAccounts(any());
+        }
+
+        @Test
+        void shouldReturn400ForCountAboveMaximum() throws Exception {
+            CreateAccountsRequest request = new CreateAccountsRequest(CreateAccountsRequest.MAX_COUNT + 1, null);
+
+            mockMvc.perform(post(BASE_URL + "/accounts/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+
+            verify(ledgerService, times(0)).createAccounts(any());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/v1/ledger/accounts/{accountId}/balance")
     class GetBalanceTests {
 
         @Test
         void shouldReturnBalanceWith200Status() throws Exception {
-            String accountId = "test-account-id";
+            AccountId accountId = AccountId.of(UUID.randomUUID());
             BigDecimal expected = new BigDecimal("150.50");
             when(ledgerService.getBalance(accountId)).thenReturn(expected);
 
@@ -91,14 +166,22 @@ class LedgerControllerTest {
 
         @Test
         void shouldReturn404ForNonExistentAccount() throws Exception {
-            String accountId = "non-existent-id";
-            when(ledgerService.getBalance(accountId)).thenThrow(new AccountNotFoundException(accountId));
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            when(ledgerService.getBalance(accountId)).thenThrow(new AccountNotFoundException(accountId.toString()));
 
             mockMvc.perform(get(BASE_URL + "/accounts/{accountId}/balance", accountId))
                     .andExpect(status().isNotFound());
 
             verify(ledgerService, times(1)).getBalance(accountId);
         }
+
+        @Test
+        void shouldReturn404ForMalformedAccountIdWithoutCallingService() throws Exception {
+            mockMvc.perform(get(BASE_URL + "/accounts/{accountId}/balance", "non-existent-id"))
+                    .andExpect(status().isNotFound());
+
+            verifyNoInteractions(ledgerService);
+        }
     }
 
     @Nested
@@ -107,8 +190,8 @@ class LedgerControllerTest {
 
         @Test
         void shouldReturnEmptyListForAccountWithNoTransactions() throws Exception {
-            String accountId = "test-account-id";
-            when(ledgerService.getTransactions(accountId)).thenReturn(List.of());
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            when(ledgerService.getTransactionHistory(accountId)).thenReturn(new TransactionHistory(List.of()));
 
             MvcResult result = mockMvc.perform(get(BASE_URL + "/accounts/{accountId}/transactions", accountId))
                     .andExpect(status().isOk())
@@ -121,32 +204,32 @@ class LedgerControllerTest {
             );
 
             assertThat(actual).isEmpty();
-            verify(ledgerService, times(1)).getTransactions(accountId);
+            verify(ledgerService, times(1)).getTransactionHistory(accountId);
         }
 
         @Test
         void shouldReturn404ForNonExistentAccount() throws Exception {
-            String accountId = "non-existent-id";
-            when(ledgerService.getTransactions(accountId)).thenThrow(new AccountNotFoundException(accountId));
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            when(ledgerService.getTransactionHistory(accountId)).thenThrow(new AccountNotFoundException(accountId.toString()));
 
             mockMvc.perform(get(BASE_URL + "/accounts/{accountId}/transactions", accountId))
                     .andExpect(status().isNotFound());
 
-            verify(ledgerService, times(1)).getTransactions(accountId);
+            verify(ledgerService, times(1)).getTransactionHistory(accountId);
         }
 
         @Test
         void shouldReturnMultipleTransactionsSortedCorrectly() throws Exception {
-            String accountId = "test-account-id";
+            AccountId accountId = AccountId.of(UUID.randomUUID());
             Instant now = Instant.now();
-            TransactionDTO tx1 = new TransactionDTO(
+            Transaction tx1 = new Transaction(
                     UUID.randomUUID(), accountId, new BigDecimal("100.00"), TransactionType.DEPOSIT, now.minusSeconds(20));
-            TransactionDTO tx2 = new TransactionDTO(
+            Transaction tx2 = new Transaction(
                     UUID.randomUUID(), accountId, new BigDecimal("50.00"), TransactionType.WITHDRAWAL, now.minusSeconds(10));
-            TransactionDTO tx3 = new TransactionDTO(
+            Transaction tx3 = new Transaction(
                     UUID.randomUUID(), accountId, new BigDecimal("25.00"), TransactionType.DEPOSIT, now);
 
-            when(ledgerService.getTransactions(accountId)).thenReturn(List.of(tx3, tx2, tx1));
+            when(ledgerService.getTransactionHistory(accountId)).thenReturn(new TransactionHistory(List.of(tx3, tx2, tx1)));
 
             MvcResult result = mockMvc.perform(get(BASE_URL + "/accounts/{accountId}/transactions", accountId))
                     .andExpect(status().isOk())
@@ -161,7 +244,66 @@ class LedgerControllerTest {
             assertThat(actual.get(0).amount()).isEqualByComparingTo("25.00");
             assertThat(actual.get(1).amount()).isEqualByComparingTo("50.00");
             assertThat(actual.get(2).amount()).isEqualByComparingTo("100.00");
-            verify(ledgerService, times(1)).getTransactions(accountId);
+            verify(ledgerService, times(1)).getTransactionHistory(accountId);
+        }
+
+        @Test
+        void shouldWriteTheSameJsonAsJacksonWritesForTransactionDtos() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            List<Transaction> transactions = List.of(
+                    new Transaction(UUID.randomUUID(), accountId, new BigDecimal("0.10"), TransactionType.WITHDRAWAL,
+                            Instant.parse("2025-12-03T11:00:00.123456Z")),
+                    new Transaction(UUID.randomUUID(), accountId, new BigDecimal("1E+2"), TransactionType.DEPOSIT,
+                            Instant.parse("2025-12-03T10:00:00Z")));
+            when(ledgerService.getTransactionHistory(accountId)).thenReturn(new TransactionHistory(transactions));
+
+            MvcResult result = mockMvc.perform(get(BASE_URL + "/accounts/{accountId}/transactions", accountId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            assertThat(result.getResponse().getContentAsString()).isEqualTo(
+                    objectMapper.writeValueAsString(transactions.stream().map(TransactionMapper::toDto).toList()));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/ledger/accounts/{accountId}/view")
+    class GetAccountViewTests {
+
+        @Test
+        void shouldReturnAccountViewWith200Status() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            Transaction tx = new Transaction(
+                    UUID.randomUUID(), accountId, new BigDecimal("25.00"), TransactionType.DEPOSIT, Instant.now());
+            AccountSnapshot snapshot = new AccountSnapshot(accountId, 1, new BigDecimal("25.00"),
+                    new BigDecimal("25.00"), 1, List.of(tx));
+            when(ledgerService.getAccountSnapshot(accountId, 0, 10)).thenReturn(snapshot);
+
+            MvcResult result = mockMvc.perform(get(BASE_URL + "/accounts/{accountId}/view", accountId)
+                            .param("limit", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andReturn();
+
+            AccountViewDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), AccountViewDTO.class);
+
+            assertThat(actual.version()).isEqualTo(1);
+            assertThat(actual.balance()).isEqualByComparingTo("25.00");
+            assertThat(actual.transactions()).hasSize(1);
+            assertThat(result.getResponse().getContentAsString())
+                    .isEqualTo(objectMapper.writeValueAsString(AccountSnapshotMapper.toDto(snapshot)));
+            verify(ledgerService, times(1)).getAccountSnapshot(accountId, 0, 10);
+        }
+
+        @Test
+        void shouldReturn404ForNonExistentAccount() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            when(ledgerService.getAccountSnapshot(accountId, 0, 50)).thenThrow(new AccountNotFoundException(accountId.toString()));
+
+            mockMvc.perform(get(BASE_URL + "/accounts/{accountId}/view", accountId))
+                    .andExpect(status().isNotFound());
+
+            verify(ledgerService, times(1)).getAccountSnapshot(accountId, 0, 50);
         }
     }
 
@@ -171,13 +313,13 @@ class LedgerControllerTest {
 
         @Test
         void shouldCreateDepositTransactionAndReturn201() throws Exception {
-            String accountId = "test-account-id";
+            AccountId accountId = AccountId.of(UUID.randomUUID());
             UUID transactionId = UUID.randomUUID();
             Instant timestamp = Instant.now();
             CreateTransactionRequest request = new CreateTransactionRequest(
                     new BigDecimal("100.00"), TransactionType.DEPOSIT);
             TransactionDTO expected = new TransactionDTO(
-                    transactionId, accountId, new BigDecimal("100.00"), TransactionType.DEPOSIT, timestamp);
+                    transactionId, accountId.toString(), new BigDecimal("100.00"), TransactionType.DEPOSIT, timestamp);
 
             when(ledgerService.createTransaction(any(CreateTransactionRequest.class), eq(accountId)))
                     .thenReturn(expected);
@@ -192,7 +334,7 @@ class LedgerControllerTest {
             TransactionDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), TransactionDTO.class);
 
             assertThat(actual.id()).isEqualTo(transactionId);
-            assertThat(actual.accountId()).isEqualTo(accountId);
+            assertThat(actual.accountId()).isEqualTo(accountId.toString());
             assertThat(actual.amount()).isEqualByComparingTo("100.00");
             assertThat(actual.type()).isEqualTo(TransactionType.DEPOSIT);
             verify(ledgerService, times(1)).createTransaction(any(CreateTransactionRequest.class), eq(accountId));
@@ -200,12 +342,12 @@ class LedgerControllerTest {
 
         @Test
         void shouldReturn404ForNonExistentAccount() throws Exception {
-            String accountId = "non-existent-id";
+            AccountId accountId = AccountId.of(UUID.randomUUID());
             CreateTransactionRequest request = new CreateTransactionRequest(
                     new BigDecimal("100.00"), TransactionType.DEPOSIT);
 
             when(ledgerService.createTransaction(any(CreateTransactionRequest.class), eq(accountId)))
-                    .thenThrow(new AccountNotFoundException(accountId));
+                    .thenThrow(new AccountNotFoundException(accountId.toString()));
 
             mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/transactions", accountId)
                             .contentType(MediaType.APPLICATION_JSON)
@@ -217,7 +359,7 @@ class LedgerControllerTest {
 
         @Test
         void shouldReturn400ForInsufficientBalance() throws Exception {
-            String accountId = "test-account-id";
+            AccountId accountId = AccountId.of(UUID.randomUUID());
             CreateTransactionRequest request = new CreateTransactionRequest(
                     new BigDecimal("1000.00"), TransactionType.WITHDRAWAL);
 
@@ -239,7 +381,7 @@ class LedgerControllerTest {
 
         @Test
         void shouldReturn400ForNegativeTransactionAmount() throws Exception {
-            String accountId = "test-account-id";
+            AccountId accountId = AccountId.of(UUID.randomUUID());
             CreateTransactionRequest request = new CreateTransactionRequest(
                     new BigDecimal("-50.00"), TransactionType.DEPOSIT);
 
@@ -258,7 +400,7 @@ class LedgerControllerTest {
 
         @Test
         void shouldReturn400ForZeroTransactionAmount() throws Exception {
-            String accountId = "test-account-id";
+            AccountId accountId = AccountId.of(UUID.randomUUID());
             CreateTransactionRequest request = new CreateTransactionRequest(
                     BigDecimal.ZERO, TransactionType.DEPOSIT);
 
@@ -274,9 +416,28 @@ class LedgerControllerTest {
             verify(ledgerService, times(0)).createTransaction(any(), any());
         }
 
+        @Test
+        void shouldReturn400ForAmountThatCannotBeStored() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            CreateTransactionRequest request = new CreateTransactionRequest(
+                    new BigDecimal("0.0000000000000000001"), TransactionType.DEPOSIT);
+
+            MvcResult result = mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/transactions", accountId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest())
+                    .andReturn();
+
+            ErrorResponse actual = objectMapper.readValue(result.getResponse().getContentAsString(), ErrorResponse.class);
+
+            assertThat(actual.status()).isEqualTo(400);
+            assertThat(actual.message()).contains("Amount must have at most 20 integer digits and 18 decimal places");
+            verify(ledgerService, times(0)).createTransaction(any(), any());
+        }
+
         @Test
         void shouldReturn400ForNullAmount() throws Exception {
-            String accountId = "test-account-id";
+            AccountId accountId = AccountId.of(UUID.randomUUID());
             String invalidRequest = "{\"type\": \"DEPOSIT\"}";
 
             mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/transactions", accountId)
@@ -289,7 +450,7 @@ class LedgerControllerTest {
 
         @Test
         void shouldReturn400ForNullType() throws Exception {
-            String accountId = "test-account-id";
+            AccountId accountId = AccountId.of(UUID.randomUUID());
             String invalidRequest = "{\"amount\": 100.00}";
 
             mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/transactions", accountId)
@@ -300,4 +461,183 @@ class LedgerControllerTest {
             verify(ledgerService, times(0)).createTransaction(any(), any());
         }
     }
+
+    @Nested
+    @DisplayName("POST /api/v1/ledger/accounts/{accountId}/holds")
+    class HoldTests {
+
+        @Test
+        void shouldPlaceHoldAndReturn201() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            Instant now = Instant.now();
+            HoldDTO expected = new HoldDTO(UUID.randomUUID(), accountId.toString(), new BigDecimal("60.00"), now, now.plusSeconds(300));
+            when(ledgerService.placeHold(any(CreateHoldRequest.class), eq(accountId))).thenReturn(expected);
+
+            MvcResult result = mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/holds", accountId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateHoldRequest(new BigDecimal("60.00"), 300L))))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+
+            HoldDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), HoldDTO.class);
+
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void shouldReturn400ForExpiryAboveMaximum() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            CreateHoldRequest request = new CreateHoldRequest(BigDecimal.TEN, CreateHoldRequest.MAX_EXPIRES_IN_SECONDS + 1);
+
+            mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/holds", accountId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+
+            verify(ledgerService, times(0)).placeHold(any(), any());
+        }
+
+        @Test
+        void shouldCaptureWholeHoldWithoutBodyAndReturn201() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            UUID holdId = UUID.randomUUID();
+            TransactionDTO expected = new TransactionDTO(
+                    UUID.randomUUID(), accountId.toString(), new BigDecimal("60.00"), TransactionType.WITHDRAWAL, Instant.now());
+            when(ledgerService.captureHold(accountId, holdId, null)).thenReturn(expected);
+
+            mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/holds/{holdId}/capture", accountId, holdId))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.type").value("WITHDRAWAL"));
+
+            verify(ledgerService, times(1)).captureHold(accountId, holdId, null);
+        }
+
+        @Test
+        void shouldPassPartialCaptureAmountToService() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            UUID holdId = UUID.randomUUID();
+            CaptureHoldRequest request = new CaptureHoldRequest(new BigDecimal("45.00"));
+            when(ledgerService.captureHold(accountId, holdId, request)).thenReturn(new TransactionDTO(
+                    UUID.randomUUID(), accountId.toString(), new BigDecimal("45.00"), TransactionType.WITHDRAWAL, Instant.now()));
+
+            mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/holds/{holdId}/capture", accountId, holdId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+
+            verify(ledgerService, times(1)).captureHold(accountId, holdId, request);
+        }
+
+        @Test
+        void shouldReturn404WhenVoidingUnknownHold() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            UUID holdId = UUID.randomUUID();
+            when(ledgerService.voidHold(accountId, holdId)).thenThrow(new HoldNotFoundException(holdId.toString()));
+
+            mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/holds/{holdId}/void", accountId, holdId))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void shouldReturn404ForMalformedHoldIdWithoutCallingService() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+
+            mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/holds/{holdId}/void", accountId, "not-a-hold"))
+                    .andExpect(status().isNotFound());
+
+            verifyNoInteractions(ledgerService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Asynchronous transaction submission")
+    class SubmissionTests {
+
+        @Test
+        void shouldAcceptSubmissionWith202AndLocation() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            CreateTransactionRequest request = new CreateTransactionRequest(new BigDecimal("25.00"), TransactionType.DEPOSIT);
+            UUID transactionId = UUID.randomUUID();
+            SubmissionDTO expected = new SubmissionDTO(SubmissionStatus.PENDING, new TransactionDTO(
+                    transactionId, accountId.toString(), new BigDecimal("25.00"), TransactionType.DEPOSIT, Instant.now()), null);
+            when(ledgerService.submitTransaction(any(CreateTransactionRequest.class), eq(accountId))).thenReturn(expected);
+
+            MvcResult result = mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/transactions/async", accountId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", BASE_URL + "/submissions/" + transactionId))
+                    .andReturn();
+
+            SubmissionDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), SubmissionDTO.class);
+
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void shouldReturn400ForInvalidSubmissionWithoutCallingService() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+
+            mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/transactions/async", accountId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"type\": \"DEPOSIT\"}"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(ledgerService);
+        }
+
+        @Test
+        void shouldReturn404ForSubmissionToNonExistentAccount() throws Exception {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            CreateTransactionRequest request = new CreateTransactionRequest(new BigDecimal("25.00"), TransactionType.DEPOSIT);
+            when(ledgerService.submitTransaction(any(CreateTransactionRequest.class), eq(accountId)))
+                    .thenThrow(new AccountNotFoundException(accountId.toString()));
+
+            mockMvc.perform(post(BASE_URL + "/accounts/{accountId}/transactions/async", accountId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isNotFound());
+
+            verify(ledgerService, times(1)).submitTransaction(any(CreateTransactionRequest.class), eq(accountId));
+        }
+
+        @Test
+        void shouldReturnOutcomeOnceKnown() throws Exception {
+            UUID transactionId = UUID.randomUUID();
+            SubmissionDTO expected = new SubmissionDTO(SubmissionStatus.REJECTED, new TransactionDTO(
+                    transactionId, AccountId.of(UUID.randomUUID()).toString(), new BigDecimal("25.00"),
+                    TransactionType.WITHDRAWAL, Instant.now()), "Account has insufficient balance for this transaction");
+            when(ledgerService.getSubmission(transactionId, 2000)).thenReturn(CompletableFuture.completedFuture(expected));
+
+            MvcResult asyncResult = mockMvc.perform(get(BASE_URL + "/submissions/{submissionId}", transactionId)
+                            .param("waitMillis", "2000"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            SubmissionDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), SubmissionDTO.class);
+
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        void shouldReturn404ForUnknownSubmission() throws Exception {
+            UUID submissionId = UUID.randomUUID();
+            when(ledgerService.getSubmission(submissionId, 0))
+                    .thenThrow(new SubmissionNotFoundException(submissionId.toString()));
+
+            mockMvc.perform(get(BASE_URL + "/submissions/{submissionId}", submissionId))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void shouldReturn404ForMalformedSubmissionIdWithoutCallingService() throws Exception {
+            mockMvc.perform(get(BASE_URL + "/submissions/{submissionId}", "42"))
+                    .andExpect(status().isNotFound());
+
+            verifyNoInteractions(ledgerService);
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package com.teya.ledger.hold;
+
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.Hold;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+import com.teya.ledger.store.InMemoryLedgerStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HoldExpiryTest {
+
+    private static final AccountId ACCOUNT = new AccountId(0, 1);
+    private static final Instant START = Instant.parse("2030-01-01T00:00:00Z");
+
+    private final AtomicLong clock = new AtomicLong(START.toEpochMilli());
+    private InMemoryLedgerStore store;
+    private HoldExpiry holdExpiry;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryLedgerStore();
+        store.createAccount(ACCOUNT);
+        store.append(new Transaction(UUID.randomUUID(), ACCOUNT, new BigDecimal("100.00"), TransactionType.DEPOSIT, START));
+        holdExpiry = new HoldExpiry(store, new HoldProperties(Duration.ofDays(7), Duration.ofMillis(100)), clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        holdExpiry.close();
+    }
+
+    @Test
+    void advance_shouldReleaseHoldsOnceTheyExpire() {
+        Hold hold = placeHold(new BigDecimal("60.00"), Duration.ofMinutes(5));
+
+        clock.set(hold.expiresAt().toEpochMilli() - 1);
+        holdExpiry.advance();
+        assertThat(store.getHold(ACCOUNT, hold.id())).isEqualTo(hold);
+
+        clock.set(hold.expiresAt().toEpochMilli());
+        holdExpiry.advance();
+        assertThat(store.getHold(ACCOUNT, hold.id())).isNull();
+        assertThat(store.getSnapshot(ACCOUNT, 0, 0).availableBalance()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void advance_shouldSkipHoldsThatWereCapturedFirst() {
+        Hold captured = placeHold(new BigDecimal("60.00"), Duration.ofMinutes(5));
+        Hold other = placeHold(new BigDecimal("10.00"), Duration.ofDays(1));
+        store.captureHold(captured.id(),
+                new Transaction(UUID.randomUUID(), ACCOUNT, new BigDecimal("60.00"), TransactionType.WITHDRAWAL, START));
+
+        clock.set(captured.expiresAt().toEpochMilli());
+        holdExpiry.advance();
+
+        assertThat(store.getBalance(ACCOUNT)).isEqualByComparingTo("40.00");
+        assertThat(store.getHold(ACCOUNT, other.id())).isEqualTo(other);
+        assertThat(store.getSnapshot(ACCOUNT, 0, 0).availableBalance()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void constructor_shouldScheduleHoldsAlreadyInTheStore() {
+        Hold hold = new Hold(UUID.randomUUID(), ACCOUNT, new BigDecimal("60.00"), START, START.plusSeconds(60));
+        store.placeHold(hold);
+        holdExpiry.close();
+        holdExpiry = new HoldExpiry(store, new HoldProperties(Duration.ofDays(7), Duration.ofMillis(100)), clock::get);
+
+        clock.set(hold.expiresAt().toEpochMilli());
+        holdExpiry.advance();
+
+        assertThat(store.getHold(ACCOUNT, hold.id())).isNull();
+    }
+
+    private Hold placeHold(BigDecimal amount, Duration expiry) {
+        Instant now = Instant.ofEpochMilli(clock.get());
+        Hold hold = new Hold(UUID.randomUUID(), ACCOUNT, amount, now, now.plus(expiry));
+        assertThat(store.placeHold(hold)).isTrue();
+        holdExpiry.schedule(hold);
+        return hold;
+    }
+}
@@ -0,0 +1,64 @@
+package com.teya.ledger.hold;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void advanceTo_shouldFireItemsOnTheirDeadlineAndNotBefore() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 2, 3, 0);
+        wheel.add(25, "a");
+        wheel.add(30, "b");
+        List<String> expired = new ArrayList<>();
+
+        wheel.advanceTo(29, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advanceTo(30, expired::add);
+        assertThat(expired).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advanceTo_shouldCascadeItemsFromUpperLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 2, 3, 0);
+        for (long deadline = 1; deadline < 64; deadline++) {
+            wheel.add(deadline, deadline);
+        }
+
+        for (long now = 1; now < 64; now++) {
+            List<Long> expired = new ArrayList<>();
+            wheel.advanceTo(now, expired::add);
+            assertThat(expired).containsExactly(now);
+        }
+    }
+
+    @Test
+    void advanceTo_shouldHoldItemsBeyondTheWheelRangeUntilTheirDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 2, 2, 0);
+        wheel.add(1_000, "far");
+        List<String> expired = new ArrayList<>();
+
+        wheel.advanceTo(999, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advanceTo(1_000, expired::add);
+        assertThat(expired).containsExactly("far");
+    }
+
+    @Test
+    void add_shouldFireOverdueItemsOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 2, 3, 100);
+        wheel.add(50, "overdue");
+        List<String> expired = new ArrayList<>();
+
+        assertThat(wheel.advanceTo(109, expired::add)).isZero();
+        assertThat(wheel.advanceTo(110, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly("overdue");
+    }
+}
@@ -0,0 +1,69 @@
+package com.teya.ledger.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    void nextId_shouldBeVersion7WithTheCurrentTime() {
+        long before = System.currentTimeMillis();
+
+        UUID id = new TimeOrderedIdGenerator(1).nextId();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis());
+    }
+
+    @Test
+    void nextId_shouldIncreaseWhenTheClockStandsStillOrStepsBack() {
+        AtomicLong clock = new AtomicLong(1_000);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, clock::get);
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+        clock.set(500);
+        ids.add(generator.nextId());
+
+        assertThat(ids).isSortedAccordingTo(UUID::compareTo).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void nextId_shouldBeUniqueAcrossThreads() throws InterruptedException {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, () -> 1_000);
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    void constructor_shouldRejectNodeOutOfRange() {
+        assertThatThrownBy(() -> new TimeOrderedIdGenerator(1 << TimeOrderedIdGenerator.NODE_BITS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.teya.ledger.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.teya.ledger.mapper.AccountSnapshotMapper;
+import com.teya.ledger.mapper.TransactionMapper;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionJsonWriterTest {
+
+    private static final AccountId ACCOUNT = new AccountId(0x0123456789abcdefL, 0xfedcba9876543210L);
+
+    // Configured as Spring Boot configures the application's mapper.
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final TransactionJsonWriter writer = new TransactionJsonWriter();
+
+    @Test
+    void writeTransactions_shouldMatchJacksonForEveryTimestampPrecision() throws IOException {
+        List<Transaction> transactions = List.of(
+                transaction("100.00", Instant.parse("2025-12-03T11:00:00Z")),
+                transaction("0.01", Instant.parse("2024-02-29T23:59:59.120Z")),
+                transaction("1E+3", Instant.parse("2000-03-01T00:00:00.000123Z")),
+                transaction("0.0000001", Instant.parse("1970-01-01T00:00:00.000000001Z")),
+                transaction("5", Instant.parse("9999-12-31T23:59:59.999999999Z")),
+                transaction("12.5", Instant.parse("1969-12-31T23:59:59.5Z")),
+                transaction("7.25", Instant.parse("+10000-01-01T00:00:00Z")));
+
+        assertThat(write(transactions)).isEqualTo(jackson(transactions));
+    }
+
+    @Test
+    void writeTransactions_shouldWriteEmptyArray() throws IOException {
+        assertThat(write(List.of())).isEqualTo("[]");
+    }
+
+    @Test
+    void writeTransactions_shouldMatchJacksonBeyondOneBuffer() throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            transactions.add(new Transaction(ACCOUNT, BigDecimal.valueOf(i, 2), TransactionType.values()[i % 2]));
+        }
+        transactions.add(transaction("1" + "0".repeat(20_000) + ".5", Instant.now()));
+
+        assertThat(write(transactions)).isEqualTo(jackson(transactions));
+        assertThat(write(transactions)).isEqualTo(jackson(transactions));
+    }
+
+    @Test
+    void writeAccountView_shouldMatchJackson() throws IOException {
+        AccountSnapshot snapshot = new AccountSnapshot(ACCOUNT, 42, new BigDecimal("100.00"), new BigDecimal("40.00"), 3,
+                List.of(transaction("60.00", Instant.now()), transaction("40.00", Instant.now())));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.writeAccountView(snapshot, out);
+
+        assertThat(out.toString()).isEqualTo(objectMapper.writeValueAsString(AccountSnapshotMapper.toDto(snapshot)));
+    }
+
+    private String write(List<Transaction> transactions) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTransactions(transactions, out);
+        return out.toString();
+    }
+
+    private String jackson(List<Transaction> transactions) throws IOException {
+        return objectMapper.writeValueAsString(transactions.stream().map(TransactionMapper::toDto).toList());
+    }
+
+    private static Transaction transaction(String amount, Instant timestamp) {
+        return new Transaction(UUID.randomUUID(), ACCOUNT, new BigDecimal(amount), TransactionType.DEPOSIT, timestamp);
+    }
+}
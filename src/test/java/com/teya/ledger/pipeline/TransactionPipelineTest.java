@@ -0,0 +1,216 @@
+package com.teya.ledger.pipeline;
+
+import com.teya.ledger.exception.StoreBackpressureException;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.Submission;
+import com.teya.ledger.model.SubmissionStatus;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+import com.teya.ledger.store.InMemoryLedgerStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionPipelineTest {
+
+    private static final AccountId ACCOUNT = new AccountId(0, 1);
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private TransactionPipeline pipeline;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.close();
+    }
+
+    @Test
+    void submit_shouldApplyTransactionsInSequenceOrder() throws Exception {
+        InMemoryLedgerStore store = storeWithAccount();
+        pipeline = new TransactionPipeline(store, PipelineProperties.DEFAULTS);
+
+        UUID rejected = pipeline.submit(new Transaction(ACCOUNT, BigDecimal.TEN, TransactionType.WITHDRAWAL));
+        for (int i = 0; i < 100; i++) {
+            pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+        }
+        UUID withdrawal = pipeline.submit(new Transaction(ACCOUNT, new BigDecimal("100"), TransactionType.WITHDRAWAL));
+
+        assertThat(pipeline.outcome(withdrawal, WAIT).get().status()).isEqualTo(SubmissionStatus.COMMITTED);
+        Submission first = pipeline.outcome(rejected, Duration.ZERO).get();
+        assertThat(first.status()).isEqualTo(SubmissionStatus.REJECTED);
+        assertThat(first.reason()).isEqualTo("Account has insufficient balance for this transaction");
+        assertThat(store.getBalance(ACCOUNT)).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void outcome_shouldReportPendingUntilApplied() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = new TransactionPipeline(blockingStore(release), PipelineProperties.DEFAULTS);
+        UUID id = pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+
+        assertThat(pipeline.outcome(id, Duration.ZERO).get().status()).isEqualTo(SubmissionStatus.PENDING);
+        assertThat(pipeline.outcome(id, Duration.ofMillis(50)).get().status()).isEqualTo(SubmissionStatus.PENDING);
+
+        release.countDown();
+        assertThat(pipeline.outcome(id, WAIT).get(5, TimeUnit.SECONDS).status()).isEqualTo(SubmissionStatus.COMMITTED);
+    }
+
+    @Test
+    void outcome_shouldReturnNullForUnknownId() {
+        pipeline = new TransactionPipeline(storeWithAccount(), PipelineProperties.DEFAULTS);
+        pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+
+        assertThat(pipeline.outcome(UUID.randomUUID(), WAIT)).isNull();
+    }
+
+    @Test
+    void outcome_shouldForgetSubmissionsOnceTheirSlotIsReused() throws Exception {
+        pipeline = new TransactionPipeline(storeWithAccount(), properties(2, 0, WAIT, WAIT));
+        UUID first = pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+        pipeline.outcome(first, WAIT).get();
+        UUID second = pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+        pipeline.outcome(second, WAIT).get();
+        UUID third = pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+
+        assertThat(pipeline.outcome(first, Duration.ZERO)).isNull();
+        assertThat(pipeline.outcome(second, Duration.ZERO)).isNotNull();
+        assertThat(pipeline.outcome(third, WAIT).get().status()).isEqualTo(SubmissionStatus.COMMITTED);
+    }
+
+    @Test
+    void submit_shouldRefuseSubmissionsBeyondMaxInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = new TransactionPipeline(blockingStore(release), properties(2, 16, WAIT, WAIT));
+        pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+        UUID second = pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+
+        assertThatThrownBy(() -> pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT)))
+                .isInstanceOf(StoreBackpressureException.class);
+
+        release.countDown();
+        assertThat(pipeline.outcome(second, WAIT).get().status()).isEqualTo(SubmissionStatus.COMMITTED);
+    }
+
+    @Test
+    void close_shouldApplyEverySubmissionAlreadyTaken() throws Exception {
+        InMemoryLedgerStore store = storeWithAccount();
+        pipeline = new TransactionPipeline(store, PipelineProperties.DEFAULTS);
+        for (int i = 0; i < 1000; i++) {
+            pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+        }
+
+        pipeline.close();
+
+        assertThat(store.getBalance(ACCOUNT)).isEqualByComparingTo("1000");
+        assertThatThrownBy(() -> pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT)))
+                .isInstanceOf(StoreBackpressureException.class);
+    }
+
+    @Test
+    void close_shouldApplyEverySubmissionTakenWhileClosing() throws Exception {
+        InMemoryLedgerStore store = storeWithAccount();
+        pipeline = new TransactionPipeline(store, PipelineProperties.DEFAULTS);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread submitter = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    while (true) {
+                        pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+                        accepted.incrementAndGet();
+                    }
+                } catch (StoreBackpressureException closed) {
+                    // the pipeline has closed
+                }
+            });
+            submitter.start();
+            submitters.add(submitter);
+        }
+
+        start.countDown();
+        pipeline.close();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        assertThat(store.getBalance(ACCOUNT)).isEqualByComparingTo(BigDecimal.valueOf(accepted.get()));
+    }
+
+    @Test
+    void close_shouldGiveUpAfterTheShutdownTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = new TransactionPipeline(blockingStore(release), properties(16, 16, WAIT, Duration.ofMillis(50)));
+        UUID id = pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+
+        long start = System.nanoTime();
+        pipeline.close();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(WAIT);
+        assertThat(pipeline.outcome(id, Duration.ZERO).get().status()).isEqualTo(SubmissionStatus.PENDING);
+        release.countDown();
+    }
+
+    @Test
+    void apply_shouldRejectSubmissionWhenStoreStaysSaturated() throws Exception {
+        InMemoryLedgerStore store = new InMemoryLedgerStore() {
+            @Override
+            public boolean append(Transaction transaction) {
+                throw new StoreBackpressureException();
+            }
+        };
+        pipeline = new TransactionPipeline(store, properties(16, 16, Duration.ofMillis(20), WAIT));
+        UUID id = pipeline.submit(new Transaction(ACCOUNT, BigDecimal.ONE, TransactionType.DEPOSIT));
+
+        Submission outcome = pipeline.outcome(id, WAIT).get();
+
+        assertThat(outcome.status()).isEqualTo(SubmissionStatus.REJECTED);
+        assertThat(outcome.reason()).isEqualTo("Ledger storage is saturated, retry later");
+    }
+
+    private static PipelineProperties properties(int maxInFlight, int retained, Duration maxStoreWait,
+                                                 Duration shutdownTimeout) {
+        return new PipelineProperties(maxInFlight, retained, maxStoreWait, shutdownTimeout);
+    }
+
+    private static InMemoryLedgerStore storeWithAccount() {
+        InMemoryLedgerStore store = new InMemoryLedgerStore();
+        store.createAccount(ACCOUNT);
+        return store;
+    }
+
+    /**
+     * A store whose appends wait for {@code release}, to keep submissions in flight.
+     */
+    private static InMemoryLedgerStore blockingStore(CountDownLatch release) {
+        InMemoryLedgerStore store = new InMemoryLedgerStore() {
+            @Override
+            public boolean append(Transaction transaction) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.append(transaction);
+            }
+        };
+        store.createAccount(ACCOUNT);
+        return store;
+    }
+}
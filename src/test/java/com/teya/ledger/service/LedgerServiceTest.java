@@ -1,28 +1,69 @@
 package com.teya.ledger.service;
 
 import com.teya.ledger.dto.AccountDTO;
+import com.teya.ledger.dto.CaptureHoldRequest;
+import com.teya.ledger.dto.CreateAccountsRequest;
+import com.teya.ledger.dto.CreateHoldRequest;
 import com.teya.ledger.dto.CreateTransactionRequest;
+import com.teya.ledger.dto.HoldDTO;
+import com.teya.ledger.dto.SubmissionDTO;
 import com.teya.ledger.dto.TransactionDTO;
 import com.teya.ledger.exception.AccountNotFoundException;
+import com.teya.ledger.exception.HoldNotFoundException;
 import com.teya.ledger.exception.InsufficientBalanceException;
 import com.teya.ledger.exception.InvalidTransactionAmountException;
+import com.teya.ledger.exception.SubmissionNotFoundException;
+import com.teya.ledger.hold.HoldExpiry;
+import com.teya.ledger.hold.HoldProperties;
+import com.teya.ledger.id.TimeOrderedIdGenerator;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.SubmissionStatus;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionHistory;
 import com.teya.ledger.model.TransactionType;
+import com.teya.ledger.pipeline.PipelineProperties;
+import com.teya.ledger.pipeline.TransactionPipeline;
+import com.teya.ledger.store.InMemoryLedgerStore;
+import com.teya.ledger.store.LedgerStore;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class LedgerServiceTest {
 
+    private LedgerStore ledgerStore;
     private LedgerService ledgerService;
+    private HoldExpiry holdExpiry;
+    private TransactionPipeline transactionPipeline;
 
     @BeforeEach
     void setUp() {
-        ledgerService = new LedgerService();
+        ledgerStore = new InMemoryLedgerStore();
+        holdExpiry = new HoldExpiry(ledgerStore, HoldProperties.DEFAULTS);
+        transactionPipeline = new TransactionPipeline(ledgerStore, PipelineProperties.DEFAULTS);
+        ledgerService = new LedgerService(ledgerStore, TimeOrderedIdGenerator.shared(), holdExpiry, transactionPipeline);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        transactionPipeline.close();
+        holdExpiry.close();
     }
 
     @Test
@@ -31,7 +72,7 @@ class LedgerServiceTest {
 
         assertThat(account).isNotNull();
         assertThat(account.accountId()).isNotBlank();
-        assertThat(ledgerService.getBalance(account.accountId())).isEqualTo(BigDecimal.ZERO);
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualTo(BigDecimal.ZERO);
     }
 
     @Test
@@ -46,22 +87,53 @@ class LedgerServiceTest {
         assertThat(account2.accountId()).isNotEqualTo(account3.accountId());
     }
 
+    @Test
+    void createAccounts_shouldCreateDistinctAccountsWithZeroBalance() {
+        List<AccountId> accountIds = ledgerService.createAccounts(new CreateAccountsRequest(1000, null));
+
+        assertThat(accountIds).hasSize(1000).doesNotHaveDuplicates();
+        assertThat(ledgerService.getBalance(accountIds.get(999))).isEqualTo(BigDecimal.ZERO);
+        assertThat(ledgerService.getTransactionHistory(accountIds.get(999)).transactions()).isEmpty();
+    }
+
+    @Test
+    void createAccounts_shouldRecordOpeningBalancesAsDeposits() {
+        List<AccountId> accountIds = ledgerService.createAccounts(
+                new CreateAccountsRequest(2, List.of(new BigDecimal("125.50"), BigDecimal.ZERO)));
+
+        assertThat(ledgerService.getBalance(accountIds.get(0))).isEqualByComparingTo("125.50");
+        assertThat(ledgerService.getTransactionHistory(accountIds.get(0)).transactions()).singleElement()
+                .satisfies(transaction -> {
+                    assertThat(transaction.type()).isEqualTo(TransactionType.DEPOSIT);
+                    assertThat(transaction.amount()).isEqualByComparingTo("125.50");
+                });
+        assertThat(ledgerService.getBalance(accountIds.get(1))).isEqualTo(BigDecimal.ZERO);
+        assertThat(ledgerService.getTransactionHistory(accountIds.get(1)).transactions()).isEmpty();
+    }
+
+    @Test
+    void createAccounts_shouldRejectNegativeOpeningBalances() {
+        assertThatThrownBy(() -> ledgerService.createAccounts(
+                new CreateAccountsRequest(1, List.of(new BigDecimal("-1.00")))))
+                .isInstanceOf(InvalidTransactionAmountException.class);
+    }
+
     @Test
     void getBalance_shouldReturnZeroForNewAccount() {
         AccountDTO account = ledgerService.createAccount();
 
-        BigDecimal balance = ledgerService.getBalance(account.accountId());
+        BigDecimal balance = ledgerService.getBalance(idOf(account));
 
         assertThat(balance).isEqualTo(BigDecimal.ZERO);
     }
 
     @Test
     void getBalance_shouldThrowExceptionForNonExistentAccount() {
-        String nonExistentAccountId = "non-existent-id";
+        AccountId nonExistentAccountId = AccountId.of(UUID.randomUUID());
 
         assertThatThrownBy(() -> ledgerService.getBalance(nonExistentAccountId))
                 .isInstanceOf(AccountNotFoundException.class)
-                .hasMessageContaining(nonExistentAccountId);
+                .hasMessageContaining(nonExistentAccountId.toString());
     }
 
     @Test
@@ -70,9 +142,9 @@ class LedgerServiceTest {
         CreateTransactionRequest depositRequest = new CreateTransactionRequest(
                 new BigDecimal("100.00"), TransactionType.DEPOSIT);
 
-        ledgerService.createTransaction(depositRequest, account.accountId());
+        ledgerService.createTransaction(depositRequest, idOf(account));
 
-        assertThat(ledgerService.getBalance(account.accountId())).isEqualByComparingTo("100.00");
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("100.00");
     }
 
     @Test
@@ -81,52 +153,52 @@ class LedgerServiceTest {
 
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("30.00"), TransactionType.WITHDRAWAL),
-                account.accountId());
+                idOf(account));
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("50.00"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
 
-        assertThat(ledgerService.getBalance(account.accountId())).isEqualByComparingTo("120.00");
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("120.00");
     }
 
     @Test
-    void getTransactions_shouldReturnEmptyListForNewAccount() {
+    void getTransactionHistory_shouldReturnEmptyListForNewAccount() {
         AccountDTO account = ledgerService.createAccount();
 
-        List<TransactionDTO> transactions = ledgerService.getTransactions(account.accountId());
+        List<Transaction> transactions = ledgerService.getTransactionHistory(idOf(account)).transactions();
 
         assertThat(transactions).isEmpty();
     }
 
     @Test
-    void getTransactions_shouldThrowExceptionForNonExistentAccount() {
-        String nonExistentAccountId = "non-existent-id";
+    void getTransactionHistory_shouldThrowExceptionForNonExistentAccount() {
+        AccountId nonExistentAccountId = AccountId.of(UUID.randomUUID());
 
-        assertThatThrownBy(() -> ledgerService.getTransactions(nonExistentAccountId))
+        assertThatThrownBy(() -> ledgerService.getTransactionHistory(nonExistentAccountId))
                 .isInstanceOf(AccountNotFoundException.class)
-                .hasMessageContaining(nonExistentAccountId);
+                .hasMessageContaining(nonExistentAccountId.toString());
     }
 
     @Test
-    void getTransactions_shouldReturnTransactionsSortedByTimestampDescending() throws InterruptedException {
+    void getTransactionHistory_shouldReturnTransactionsSortedByTimestampDescending() throws InterruptedException {
         AccountDTO account = ledgerService.createAccount();
 
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
         Thread.sleep(10);
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("50.00"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
         Thread.sleep(10);
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("25.00"), TransactionType.WITHDRAWAL),
-                account.accountId());
+                idOf(account));
 
-        List<TransactionDTO> transactions = ledgerService.getTransactions(account.accountId());
+        List<Transaction> transactions = ledgerService.getTransactionHistory(idOf(account)).transactions();
 
         assertThat(transactions).hasSize(3);
         assertThat(transactions.get(0).amount()).isEqualByComparingTo("25.00");
@@ -135,13 +207,111 @@ class LedgerServiceTest {
         assertThat(transactions.get(2).amount()).isEqualByComparingTo("100.00");
     }
 
+    @Test
+    void getTransactionHistory_shouldReturnEveryTransactionMostRecentFirst() {
+        AccountDTO account = ledgerService.createAccount();
+        for (int i = 1; i <= 100; i++) {
+            ledgerService.createTransaction(
+                    new CreateTransactionRequest(BigDecimal.valueOf(i), TransactionType.DEPOSIT),
+                    idOf(account));
+        }
+
+        TransactionHistory history = ledgerService.getTransactionHistory(idOf(account));
+
+        assertThat(history.transactions()).hasSize(100);
+        assertThat(history.transactions()).extracting(Transaction::timestamp)
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void getAccountSnapshot_shouldReturnBalanceAndPageFromSameVersion() {
+        AccountDTO account = ledgerService.createAccount();
+        ledgerService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.DEPOSIT),
+                idOf(account));
+        ledgerService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal("40.00"), TransactionType.WITHDRAWAL),
+                idOf(account));
+        ledgerService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal("5.00"), TransactionType.DEPOSIT),
+                idOf(account));
+
+        AccountSnapshot view = ledgerService.getAccountSnapshot(idOf(account), 0, 2);
+
+        assertThat(view.accountId()).isEqualTo(idOf(account));
+        assertThat(view.version()).isEqualTo(3);
+        assertThat(view.balance()).isEqualByComparingTo("65.00");
+        assertThat(view.transactionCount()).isEqualTo(3);
+        assertThat(view.transactions()).hasSize(2);
+        assertThat(view.transactions().get(0).amount()).isEqualByComparingTo("5.00");
+        assertThat(view.transactions().get(1).amount()).isEqualByComparingTo("40.00");
+        assertThat(ledgerService.getAccountSnapshot(idOf(account), 2, 2).transactions())
+                .singleElement()
+                .satisfies(transaction -> assertThat(transaction.amount()).isEqualByComparingTo("100.00"));
+    }
+
+    @Test
+    void getAccountSnapshot_balanceShouldMatchHistoryDuringConcurrentWrites() throws InterruptedException {
+        AccountDTO account = ledgerService.createAccount();
+        ledgerStore.promoteToHotAccount(idOf(account));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    ledgerService.createTransaction(
+                            new CreateTransactionRequest(new BigDecimal("1.00"), TransactionType.DEPOSIT),
+                            idOf(account));
+                }
+            });
+        }
+        executor.shutdown();
+
+        do {
+            AccountSnapshot view = ledgerService.getAccountSnapshot(idOf(account), 0, LedgerService.MAX_PAGE_SIZE);
+            assertThat(view.balance()).isEqualByComparingTo(BigDecimal.valueOf(view.transactionCount()));
+            assertThat(view.version()).isEqualTo(view.transactionCount());
+        } while (!executor.awaitTermination(1, TimeUnit.MILLISECONDS));
+
+        assertThat(ledgerService.getAccountSnapshot(idOf(account), 0, 0).balance()).isEqualByComparingTo("8000.00");
+    }
+
+    @Test
+    void getAccountSnapshot_versionShouldIdentifyTheBalanceOfAHotAccount() throws InterruptedException {
+        AccountDTO account = ledgerService.createAccount();
+        ledgerStore.promoteToHotAccount(idOf(account));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            BigDecimal amount = BigDecimal.valueOf(t + 1);
+            executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    ledgerService.createTransaction(new CreateTransactionRequest(amount, TransactionType.DEPOSIT),
+                            idOf(account));
+                }
+            });
+        }
+        executor.shutdown();
+
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        do {
+            AccountSnapshot view = ledgerService.getAccountSnapshot(idOf(account), 0, 0);
+            BigDecimal seen = balances.putIfAbsent(view.version(), view.balance());
+            assertThat(seen == null ? view.balance() : seen).isEqualByComparingTo(view.balance());
+        } while (!executor.awaitTermination(1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void getAccountSnapshot_shouldThrowExceptionForNonExistentAccount() {
+        assertThatThrownBy(() -> ledgerService.getAccountSnapshot(AccountId.of(UUID.randomUUID()), 0, 10))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
     @Test
     void createTransaction_deposit_shouldCreateDepositAndUpdateBalance() {
         AccountDTO account = ledgerService.createAccount();
         CreateTransactionRequest request = new CreateTransactionRequest(
                 new BigDecimal("100.00"), TransactionType.DEPOSIT);
 
-        TransactionDTO transaction = ledgerService.createTransaction(request, account.accountId());
+        TransactionDTO transaction = ledgerService.createTransaction(request, idOf(account));
 
         assertThat(transaction).isNotNull();
         assertThat(transaction.id()).isNotNull();
@@ -149,7 +319,7 @@ class LedgerServiceTest {
         assertThat(transaction.amount()).isEqualByComparingTo("100.00");
         assertThat(transaction.type()).isEqualTo(TransactionType.DEPOSIT);
         assertThat(transaction.timestamp()).isNotNull();
-        assertThat(ledgerService.getBalance(account.accountId())).isEqualByComparingTo("100.00");
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("100.00");
     }
 
     @Test
@@ -158,16 +328,16 @@ class LedgerServiceTest {
 
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("200.00"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("50.50"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
 
-        assertThat(ledgerService.getBalance(account.accountId())).isEqualByComparingTo("350.50");
-        assertThat(ledgerService.getTransactions(account.accountId())).hasSize(3);
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("350.50");
+        assertThat(ledgerService.getTransactionHistory(idOf(account)).transactions()).hasSize(3);
     }
 
     @Test
@@ -175,16 +345,16 @@ class LedgerServiceTest {
         AccountDTO account = ledgerService.createAccount();
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
 
         TransactionDTO transaction = ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("30.00"), TransactionType.WITHDRAWAL),
-                account.accountId());
+                idOf(account));
 
         assertThat(transaction).isNotNull();
         assertThat(transaction.type()).isEqualTo(TransactionType.WITHDRAWAL);
         assertThat(transaction.amount()).isEqualByComparingTo("30.00");
-        assertThat(ledgerService.getBalance(account.accountId())).isEqualByComparingTo("70.00");
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("70.00");
     }
 
     @Test
@@ -192,13 +362,13 @@ class LedgerServiceTest {
         AccountDTO account = ledgerService.createAccount();
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
 
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.WITHDRAWAL),
-                account.accountId());
+                idOf(account));
 
-        assertThat(ledgerService.getBalance(account.accountId())).isEqualByComparingTo("0.00");
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("0.00");
     }
 
     @Test
@@ -206,15 +376,15 @@ class LedgerServiceTest {
         AccountDTO account = ledgerService.createAccount();
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
 
         CreateTransactionRequest overdraftRequest = new CreateTransactionRequest(
                 new BigDecimal("150.00"), TransactionType.WITHDRAWAL);
 
-        assertThatThrownBy(() -> ledgerService.createTransaction(overdraftRequest, account.accountId()))
+        assertThatThrownBy(() -> ledgerService.createTransaction(overdraftRequest, idOf(account)))
                 .isInstanceOf(InsufficientBalanceException.class);
 
-        assertThat(ledgerService.getBalance(account.accountId())).isEqualByComparingTo("100.00");
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("100.00");
     }
 
     @Test
@@ -223,7 +393,7 @@ class LedgerServiceTest {
         CreateTransactionRequest request = new CreateTransactionRequest(
                 BigDecimal.ZERO, TransactionType.DEPOSIT);
 
-        assertThatThrownBy(() -> ledgerService.createTransaction(request, account.accountId()))
+        assertThatThrownBy(() -> ledgerService.createTransaction(request, idOf(account)))
                 .isInstanceOf(InvalidTransactionAmountException.class);
     }
 
@@ -233,19 +403,33 @@ class LedgerServiceTest {
         CreateTransactionRequest request = new CreateTransactionRequest(
                 new BigDecimal("-50.00"), TransactionType.DEPOSIT);
 
-        assertThatThrownBy(() -> ledgerService.createTransaction(request, account.accountId()))
+        assertThatThrownBy(() -> ledgerService.createTransaction(request, idOf(account)))
                 .isInstanceOf(InvalidTransactionAmountException.class);
     }
 
     @Test
     void createTransaction_validation_shouldThrowExceptionForNonExistentAccount() {
-        String nonExistentAccountId = "non-existent-id";
+        AccountId nonExistentAccountId = AccountId.of(UUID.randomUUID());
         CreateTransactionRequest request = new CreateTransactionRequest(
                 new BigDecimal("100.00"), TransactionType.DEPOSIT);
 
         assertThatThrownBy(() -> ledgerService.createTransaction(request, nonExistentAccountId))
                 .isInstanceOf(AccountNotFoundException.class)
-                .hasMessageContaining(nonExistentAccountId);
+                .hasMessageContaining(nonExistentAccountId.toString());
+    }
+
+    @Test
+    void createTransaction_validation_rejectionsShouldNotCaptureStackTraces() {
+        AccountDTO account = ledgerService.createAccount();
+        CreateTransactionRequest overdraftRequest = new CreateTransactionRequest(
+                new BigDecimal("1.00"), TransactionType.WITHDRAWAL);
+
+        assertThatThrownBy(() -> ledgerService.createTransaction(overdraftRequest, idOf(account)))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .satisfies(ex -> assertThat(ex.getStackTrace()).isEmpty());
+        assertThatThrownBy(() -> ledgerService.getBalance(AccountId.of(UUID.randomUUID())))
+                .isInstanceOf(AccountNotFoundException.class)
+                .satisfies(ex -> assertThat(ex.getStackTrace()).isEmpty());
     }
 
     @Test
@@ -254,15 +438,15 @@ class LedgerServiceTest {
 
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("10.10"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("20.20"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("5.05"), TransactionType.WITHDRAWAL),
-                account.accountId());
+                idOf(account));
 
-        assertThat(ledgerService.getBalance(account.accountId())).isEqualByComparingTo("25.25");
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("25.25");
     }
 
     @Test
@@ -271,9 +455,9 @@ class LedgerServiceTest {
 
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("0.01"), TransactionType.DEPOSIT),
-                account.accountId());
+                idOf(account));
 
-        assertThat(ledgerService.getBalance(account.accountId())).isEqualByComparingTo("0.01");
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("0.01");
     }
 
     @Test
@@ -283,14 +467,308 @@ class LedgerServiceTest {
 
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.DEPOSIT),
-                account1.accountId());
+                idOf(account1));
         ledgerService.createTransaction(
                 new CreateTransactionRequest(new BigDecimal("200.00"), TransactionType.DEPOSIT),
-                account2.accountId());
+                idOf(account2));
+
+        assertThat(ledgerService.getBalance(idOf(account1))).isEqualByComparingTo("100.00");
+        assertThat(ledgerService.getBalance(idOf(account2))).isEqualByComparingTo("200.00");
+        assertThat(ledgerService.getTransactionHistory(idOf(account1)).transactions()).hasSize(1);
+        assertThat(ledgerService.getTransactionHistory(idOf(account2)).transactions()).hasSize(1);
+    }
+
+    @Test
+    void hotAccount_concurrentDepositsShouldAllBeMergedIntoBalance() throws InterruptedException {
+        AccountDTO account = ledgerService.createAccount();
+        ledgerStore.promoteToHotAccount(idOf(account));
+        int threads = 8;
+        int depositsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < depositsPerThread; i++) {
+                    ledgerService.createTransaction(
+                            new CreateTransactionRequest(new BigDecimal("0.10"), TransactionType.DEPOSIT),
+                            idOf(account));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(ledgerStore.isHotAccount(idOf(account))).isTrue();
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("400.00");
+        assertThat(ledgerService.getTransactionHistory(idOf(account)).transactions()).hasSize(threads * depositsPerThread);
+    }
+
+    @Test
+    void hotAccount_withdrawalShouldBorrowFromStripedDeposits() {
+        AccountDTO account = ledgerService.createAccount();
+        ledgerStore.promoteToHotAccount(idOf(account));
+
+        ledgerService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal("60.00"), TransactionType.DEPOSIT),
+                idOf(account));
+        ledgerService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal("40.00"), TransactionType.DEPOSIT),
+                idOf(account));
+        ledgerService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.WITHDRAWAL),
+                idOf(account));
+
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("0.00");
+        assertThatThrownBy(() -> ledgerService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal("0.01"), TransactionType.WITHDRAWAL),
+                idOf(account)))
+                .isInstanceOf(InsufficientBalanceException.class);
+    }
+
+    @Test
+    void hotAccount_concurrentWithdrawalsShouldNeverOverdraw() throws InterruptedException {
+        AccountDTO account = ledgerService.createAccount();
+        ledgerStore.promoteToHotAccount(idOf(account));
+        ledgerService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.DEPOSIT),
+                idOf(account));
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 200; i++) {
+            executor.submit(() -> {
+                try {
+                    ledgerService.createTransaction(
+                            new CreateTransactionRequest(new BigDecimal("1.00"), TransactionType.WITHDRAWAL),
+                            idOf(account));
+                    accepted.incrementAndGet();
+                } catch (InsufficientBalanceException ignored) {
+                    // expected once the balance is exhausted
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(accepted.get()).isEqualTo(100);
+        assertThat(ledgerService.getBalance(idOf(account))).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void placeHold_shouldReduceAvailableBalanceButNotBalance() {
+        AccountId accountId = fundedAccount("100.00");
+
+        HoldDTO hold = ledgerService.placeHold(new CreateHoldRequest(new BigDecimal("60.00"), 300L), accountId);
+
+        assertThat(hold.expiresAt()).isEqualTo(hold.createdAt().plusSeconds(300));
+        assertThat(ledgerService.getBalance(accountId)).isEqualByComparingTo("100.00");
+        assertThat(ledgerService.getAccountSnapshot(accountId, 0, 10).availableBalance()).isEqualByComparingTo("40.00");
+        assertThatThrownBy(() -> ledgerService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal("40.01"), TransactionType.WITHDRAWAL), accountId))
+                .isInstanceOf(InsufficientBalanceException.class);
+        assertThatThrownBy(() -> ledgerService.placeHold(new CreateHoldRequest(new BigDecimal("40.01"), null), accountId))
+                .isInstanceOf(InsufficientBalanceException.class);
+    }
+
+    @Test
+    void captureHold_shouldRecordWithdrawalAndReleaseTheRemainder() {
+        AccountId accountId = fundedAccount("100.00");
+        HoldDTO hold = ledgerService.placeHold(new CreateHoldRequest(new BigDecimal("60.00"), null), accountId);
+
+        TransactionDTO capture = ledgerService.captureHold(accountId, hold.id(), new CaptureHoldRequest(new BigDecimal("45.00")));
+
+        assertThat(capture.type()).isEqualTo(TransactionType.WITHDRAWAL);
+        assertThat(capture.amount()).isEqualByComparingTo("45.00");
+        assertThat(ledgerService.getBalance(accountId)).isEqualByComparingTo("55.00");
+        assertThat(ledgerService.getAccountSnapshot(accountId, 0, 10).availableBalance()).isEqualByComparingTo("55.00");
+        assertThatThrownBy(() -> ledgerService.captureHold(accountId, hold.id(), null))
+                .isInstanceOf(HoldNotFoundException.class);
+    }
+
+    @Test
+    void captureHold_shouldCaptureTheWholeHoldWhenNoAmountIsGiven() {
+        AccountId accountId = fundedAccount("100.00");
+        HoldDTO hold = ledgerService.placeHold(new CreateHoldRequest(new BigDecimal("60.00"), null), accountId);
+
+        TransactionDTO capture = ledgerService.captureHold(accountId, hold.id(), null);
+
+        assertThat(capture.amount()).isEqualByComparingTo("60.00");
+        assertThat(ledgerService.getBalance(accountId)).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void captureHold_shouldRejectAmountAboveTheHold() {
+        AccountId accountId = fundedAccount("100.00");
+        HoldDTO hold = ledgerService.placeHold(new CreateHoldRequest(new BigDecimal("60.00"), null), accountId);
+
+        assertThatThrownBy(() -> ledgerService.captureHold(accountId, hold.id(), new CaptureHoldRequest(new BigDecimal("60.01"))))
+                .isInstanceOf(InvalidTransactionAmountException.class);
+        assertThat(ledgerService.getAccountSnapshot(accountId, 0, 10).availableBalance()).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void voidHold_shouldReleaseFundsWithoutATransaction() {
+        AccountId accountId = fundedAccount("100.00");
+        HoldDTO hold = ledgerService.placeHold(new CreateHoldRequest(new BigDecimal("60.00"), null), accountId);
+
+        assertThat(ledgerService.voidHold(accountId, hold.id())).isEqualTo(hold);
+
+        assertThat(ledgerService.getAccountSnapshot(accountId, 0, 10).availableBalance()).isEqualByComparingTo("100.00");
+        assertThat(ledgerService.getTransactionHistory(accountId).transactions()).hasSize(1);
+        assertThatThrownBy(() -> ledgerService.voidHold(accountId, hold.id()))
+                .isInstanceOf(HoldNotFoundException.class);
+    }
+
+    @Test
+    void holds_shouldOnlyBeFoundOnTheirOwnAccount() {
+        AccountId accountId = fundedAccount("100.00");
+        AccountId otherAccountId = fundedAccount("100.00");
+        HoldDTO hold = ledgerService.placeHold(new CreateHoldRequest(new BigDecimal("60.00"), null), accountId);
+
+        assertThatThrownBy(() -> ledgerService.voidHold(otherAccountId, hold.id()))
+                .isInstanceOf(HoldNotFoundException.class);
+        assertThatThrownBy(() -> ledgerService.captureHold(otherAccountId, hold.id(), null))
+                .isInstanceOf(HoldNotFoundException.class);
+    }
+
+    @Test
+    void hotAccount_holdShouldBorrowFromStripedDeposits() {
+        AccountDTO account = ledgerService.createAccount();
+        ledgerStore.promoteToHotAccount(idOf(account));
+        ledgerService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal("100.00"), TransactionType.DEPOSIT),
+                idOf(account));
+
+        ledgerService.placeHold(new CreateHoldRequest(new BigDecimal("100.00"), null), idOf(account));
+
+        assertThat(ledgerService.getAccountSnapshot(idOf(account), 0, 10).availableBalance()).isEqualByComparingTo("0.00");
+        assertThatThrownBy(() -> ledgerService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal("0.01"), TransactionType.WITHDRAWAL),
+                idOf(account)))
+                .isInstanceOf(InsufficientBalanceException.class);
+    }
+
+    @Test
+    void placeHold_concurrentWithWithdrawalsShouldNeverOverdraw() throws InterruptedException {
+        AccountId accountId = fundedAccount("100.00");
+
+        assertHoldsAndWithdrawalsNeverOverdraw(accountId);
+    }
+
+    @Test
+    void hotAccount_concurrentHoldsAndWithdrawalsShouldNeverOverdraw() throws InterruptedException {
+        AccountId accountId = idOf(ledgerService.createAccount());
+        ledgerStore.promoteToHotAccount(accountId);
+        for (int i = 0; i < 10; i++) {
+            ledgerService.createTransaction(
+                    new CreateTransactionRequest(new BigDecimal("10.00"), TransactionType.DEPOSIT), accountId);
+        }
+
+        assertHoldsAndWithdrawalsNeverOverdraw(accountId);
+    }
+
+    @Test
+    void submitTransaction_shouldCommitInTheBackground() throws Exception {
+        AccountId accountId = fundedAccount("100.00");
+
+        SubmissionDTO submission = ledgerService.submitTransaction(
+                new CreateTransactionRequest(new BigDecimal("40.00"), TransactionType.WITHDRAWAL), accountId);
+        SubmissionDTO outcome = ledgerService.getSubmission(submission.transaction().id(), 5000).get(5, TimeUnit.SECONDS);
+
+        assertThat(submission.status()).isEqualTo(SubmissionStatus.PENDING);
+        assertThat(outcome.status()).isEqualTo(SubmissionStatus.COMMITTED);
+        assertThat(outcome.transaction()).isEqualTo(submission.transaction());
+        assertThat(ledgerService.getBalance(accountId)).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void submitTransaction_shouldRejectWithdrawalAboveBalanceWhenApplied() throws Exception {
+        AccountId accountId = fundedAccount("10.00");
+
+        SubmissionDTO submission = ledgerService.submitTransaction(
+                new CreateTransactionRequest(new BigDecimal("10.01"), TransactionType.WITHDRAWAL), accountId);
+        SubmissionDTO outcome = ledgerService.getSubmission(submission.transaction().id(), 5000).get(5, TimeUnit.SECONDS);
+
+        assertThat(outcome.status()).isEqualTo(SubmissionStatus.REJECTED);
+        assertThat(outcome.reason()).isEqualTo("Account has insufficient balance for this transaction");
+        assertThat(ledgerService.getBalance(accountId)).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void submitTransaction_shouldValidateAmountBeforeSubmitting() {
+        AccountId accountId = fundedAccount("10.00");
+
+        assertThatThrownBy(() -> ledgerService.submitTransaction(
+                new CreateTransactionRequest(BigDecimal.ZERO, TransactionType.DEPOSIT), accountId))
+                .isInstanceOf(InvalidTransactionAmountException.class);
+    }
+
+    @Test
+    void submitTransaction_shouldThrowExceptionForNonExistentAccount() {
+        AccountId nonExistentAccountId = AccountId.of(UUID.randomUUID());
+
+        assertThatThrownBy(() -> ledgerService.submitTransaction(
+                new CreateTransactionRequest(BigDecimal.TEN, TransactionType.DEPOSIT), nonExistentAccountId))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining(nonExistentAccountId.toString());
+    }
+
+    @Test
+    void getSubmission_shouldThrowForUnknownId() {
+        assertThatThrownBy(() -> ledgerService.getSubmission(UUID.randomUUID(), 0))
+                .isInstanceOf(SubmissionNotFoundException.class);
+    }
+
+    /**
+     * Races holds and withdrawals of 1.00 each against an available balance of 100.00.
+     */
+    private void assertHoldsAndWithdrawalsNeverOverdraw(AccountId accountId) throws InterruptedException {
+        AtomicInteger holds = new AtomicInteger();
+        AtomicInteger withdrawals = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int i = 0; i < 200; i++) {
+            boolean hold = i % 2 == 0;
+            executor.submit(() -> {
+                start.await();
+                try {
+                    if (hold) {
+                        ledgerService.placeHold(new CreateHoldRequest(new BigDecimal("1.00"), null), accountId);
+                        holds.incrementAndGet();
+                    } else {
+                        ledgerService.createTransaction(
+                                new CreateTransactionRequest(new BigDecimal("1.00"), TransactionType.WITHDRAWAL),
+                                accountId);
+                        withdrawals.incrementAndGet();
+                    }
+                } catch (InsufficientBalanceException ignored) {
+                    // expected once the available balance is exhausted
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        AccountSnapshot view = ledgerService.getAccountSnapshot(accountId, 0, 0);
+        assertThat(holds.get() + withdrawals.get()).isEqualTo(100);
+        assertThat(view.balance()).isEqualByComparingTo(BigDecimal.valueOf(100 - withdrawals.get()));
+        assertThat(view.availableBalance()).isEqualByComparingTo("0.00");
+    }
+
+    private AccountId fundedAccount(String balance) {
+        AccountId accountId = idOf(ledgerService.createAccount());
+        ledgerService.createTransaction(new CreateTransactionRequest(new BigDecimal(balance), TransactionType.DEPOSIT), accountId);
+        return accountId;
+    }
 
-        assertThat(ledgerService.getBalance(account1.accountId())).isEqualByComparingTo("100.00");
-        assertThat(ledgerService.getBalance(account2.accountId())).isEqualByComparingTo("200.00");
-        assertThat(ledgerService.getTransactions(account1.accountId())).hasSize(1);
-        assertThat(ledgerService.getTransactions(account2.accountId())).hasSize(1);
+    private static AccountId idOf(AccountDTO account) {
+        return AccountId.parse(account.accountId());
     }
 }
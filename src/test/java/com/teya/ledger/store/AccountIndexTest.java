@@ -0,0 +1,73 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.AccountId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountIndexTest {
+
+    @Test
+    void putIfAbsent_shouldKeepEveryEntryAcrossResizes() {
+        AccountIndex<String> index = new AccountIndex<>(1);
+        List<AccountId> accountIds = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            accountIds.add(accountId);
+            assertThat(index.putIfAbsent(accountId, accountId.toString())).isNull();
+        }
+
+        assertThat(index.size()).isEqualTo(10_000);
+        for (AccountId accountId : accountIds) {
+            assertThat(index.get(accountId)).isEqualTo(accountId.toString());
+        }
+        assertThat(index).hasSize(10_000);
+        assertThat(index.get(AccountId.of(UUID.randomUUID()))).isNull();
+    }
+
+    @Test
+    void putIfAbsent_shouldReturnExistingValueAndKeepIt() {
+        AccountIndex<String> index = new AccountIndex<>(16);
+        AccountId accountId = new AccountId(1, 2);
+
+        assertThat(index.putIfAbsent(accountId, "first")).isNull();
+        assertThat(index.putIfAbsent(new AccountId(1, 2), "second")).isEqualTo("first");
+        assertThat(index.get(accountId)).isEqualTo("first");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldSeeEveryCompletedInsertWhileTheTableGrows() throws InterruptedException {
+        AccountIndex<AccountId> index = new AccountIndex<>(1);
+        List<AccountId> inserted = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            inserted.add(new AccountId(i, i));
+        }
+        AtomicBoolean missing = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < inserted.size(); i++) {
+                    AccountId accountId = inserted.get(i);
+                    index.putIfAbsent(accountId, accountId);
+                    if (index.get(accountId) != accountId) {
+                        missing.set(true);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(missing).isFalse();
+        assertThat(index.size()).isEqualTo(inserted.size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountTest {
+
+    private static final AccountId ACCOUNT_1 = new AccountId(0, 1);
+
+    /**
+     * Collisions are rare on a machine with few cores, so the threshold is lowered to keep the test short; what is
+     * exercised is that failed updates from real concurrent deposits promote the account, and that none of the
+     * deposits made on either side of the promotion is lost.
+     */
+    @Test
+    void deposit_contendedUpdatesShouldPromoteTheAccountWithoutLosingDeposits() throws InterruptedException {
+        Account account = new Account(2);
+        int threads = 8;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        AtomicInteger deposits = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                while (!account.isHot() && System.nanoTime() < deadline) {
+                    account.deposit(new Transaction(ACCOUNT_1, new BigDecimal("0.10"), TransactionType.DEPOSIT));
+                    deposits.incrementAndGet();
+                }
+                for (int i = 0; i < 1000; i++) {
+                    account.deposit(new Transaction(ACCOUNT_1, new BigDecimal("0.10"), TransactionType.DEPOSIT));
+                    deposits.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(account.isHot()).isTrue();
+        AccountState state = account.snapshot();
+        assertThat(state.balance())
+                .isEqualByComparingTo(new BigDecimal("0.10").multiply(BigDecimal.valueOf(deposits.get())));
+        assertThat(state.version()).isEqualTo(deposits.get());
+    }
+
+    @Test
+    void deposit_uncontendedUpdatesShouldLeaveTheAccountCold() {
+        Account account = new Account();
+
+        for (int i = 0; i < 10_000; i++) {
+            account.deposit(new Transaction(ACCOUNT_1, BigDecimal.ONE, TransactionType.DEPOSIT));
+        }
+
+        assertThat(account.isHot()).isFalse();
+        assertThat(account.snapshot().balance()).isEqualByComparingTo("10000");
+    }
+}
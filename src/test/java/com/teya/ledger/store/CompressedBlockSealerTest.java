@@ -0,0 +1,69 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedBlockSealerTest {
+
+    private static final AccountId ACCOUNT_1 = new AccountId(0, 1);
+
+    @Test
+    void sealHistory_shouldReadTransparentlyAcrossBlocks() {
+        InMemoryLedgerStore store = new InMemoryLedgerStore();
+        store.createAccount(ACCOUNT_1);
+        int count = CompressedBlockSealer.BLOCK_SIZE * 2 + 5;
+        for (int i = 1; i <= count; i++) {
+            store.append(new Transaction(ACCOUNT_1, new BigDecimal(i + ".50"), TransactionType.DEPOSIT));
+        }
+        store.append(new Transaction(ACCOUNT_1, new BigDecimal("3.125"), TransactionType.WITHDRAWAL));
+        List<Transaction> before = store.getTransactions(ACCOUNT_1);
+
+        long sealed = store.sealHistory(Instant.now().plusSeconds(1), new CompressedBlockSealer());
+        store.append(new Transaction(ACCOUNT_1, new BigDecimal("0.75"), TransactionType.DEPOSIT));
+
+        assertThat(sealed).isEqualTo(count + 1);
+        List<Transaction> after = store.getTransactions(ACCOUNT_1);
+        assertThat(after.subList(0, count + 1)).containsExactlyElementsOf(before);
+        AccountSnapshot snapshot = store.getSnapshot(ACCOUNT_1, count - CompressedBlockSealer.BLOCK_SIZE, 3);
+        assertThat(snapshot.transactions()).containsExactly(
+                before.get(CompressedBlockSealer.BLOCK_SIZE + 1),
+                before.get(CompressedBlockSealer.BLOCK_SIZE),
+                before.get(CompressedBlockSealer.BLOCK_SIZE - 1));
+    }
+
+    @Test
+    void seal_shouldRoundTripOutOfOrderTimestampsAndLargeAmounts() {
+        Instant now = Instant.now();
+        List<Transaction> history = List.of(
+                new Transaction(UUID.randomUUID(), ACCOUNT_1, new BigDecimal("-0.000000001"), TransactionType.DEPOSIT,
+                        Instant.ofEpochSecond(0, 1)),
+                new Transaction(UUID.randomUUID(), ACCOUNT_1, BigDecimal.valueOf(Long.MAX_VALUE, 2), TransactionType.WITHDRAWAL,
+                        now),
+                new Transaction(UUID.randomUUID(), ACCOUNT_1, new BigDecimal("1E+3"), TransactionType.DEPOSIT,
+                        now.minusNanos(1))
+        );
+
+        SealedRun run = new CompressedBlockSealer().seal(List.of(history)).get(0);
+
+        assertThat(run.slice(0, 3)).containsExactlyElementsOf(history);
+        assertThat(run.get(2)).isEqualTo(history.get(2));
+    }
+
+    @Test
+    void seal_shouldRefuseAmountsThatDoNotFitInALong() {
+        List<Transaction> history = List.of(new Transaction(ACCOUNT_1,
+                new BigDecimal(Long.MAX_VALUE + "0"), TransactionType.DEPOSIT));
+
+        assertThat(new CompressedBlockSealer().seal(List.of(history))).containsExactly((SealedRun) null);
+    }
+}
@@ -0,0 +1,198 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.exception.StoreBackpressureException;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.Hold;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcLedgerStoreTest {
+
+    private static final AccountId ACCOUNT_1 = new AccountId(0, 1);
+    private static final AccountId ACCOUNT_2 = new AccountId(0, 2);
+    private static final AccountId ACCOUNT_3 = new AccountId(0, 3);
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcLedgerStore store;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        store = new JdbcLedgerStore(jdbcTemplate, properties(1024, Duration.ofMillis(5)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        store.close();
+    }
+
+    @Test
+    void append_shouldPersistAccountsAndTransactionsInBatches() throws InterruptedException {
+        store.createAccount(ACCOUNT_1);
+        for (int i = 0; i < 100; i++) {
+            store.append(new Transaction(ACCOUNT_1, new BigDecimal("1.50"), TransactionType.DEPOSIT));
+        }
+        store.append(new Transaction(ACCOUNT_1, new BigDecimal("50.25"), TransactionType.WITHDRAWAL));
+
+        store.close();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Integer.class)).isEqualTo(101);
+    }
+
+    @Test
+    void constructor_shouldRestoreStateFromDatabase() throws InterruptedException {
+        store.createAccount(ACCOUNT_1);
+        Transaction deposit = new Transaction(ACCOUNT_1, new BigDecimal("100.00"), TransactionType.DEPOSIT);
+        store.append(deposit);
+        store.append(new Transaction(ACCOUNT_1, new BigDecimal("30.00"), TransactionType.WITHDRAWAL));
+        store.close();
+
+        store = new JdbcLedgerStore(jdbcTemplate, properties(1024, Duration.ofMillis(5)));
+
+        assertThat(store.getBalance(ACCOUNT_1)).isEqualTo(new BigDecimal("70.00"));
+        List<Transaction> transactions = store.getTransactions(ACCOUNT_1);
+        assertThat(transactions).hasSize(2);
+        assertThat(transactions.get(0)).isEqualTo(deposit);
+    }
+
+    @Test
+    void createAccounts_shouldPersistAccountsWithOpeningDeposits() throws InterruptedException {
+        store.createAccount(ACCOUNT_1);
+        Transaction openingDeposit = new Transaction(ACCOUNT_2, new BigDecimal("40.00"), TransactionType.DEPOSIT);
+
+        boolean[] created = store.createAccounts(List.of(ACCOUNT_1, ACCOUNT_2, ACCOUNT_3),
+                Arrays.asList(new Transaction(ACCOUNT_1, BigDecimal.ONE, TransactionType.DEPOSIT), openingDeposit, null));
+        store.close();
+        store = new JdbcLedgerStore(jdbcTemplate, properties(1024, Duration.ofMillis(5)));
+
+        assertThat(created).containsExactly(false, true, true);
+        assertThat(store.getBalance(ACCOUNT_1)).isEqualTo(BigDecimal.ZERO);
+        assertThat(store.getTransactions(ACCOUNT_2)).containsExactly(openingDeposit);
+        assertThat(store.getTransactions(ACCOUNT_3)).isEmpty();
+    }
+
+    @Test
+    void constructor_shouldRestoreOnlyOutstandingHolds() throws InterruptedException {
+        store.createAccount(ACCOUNT_1);
+        store.append(new Transaction(ACCOUNT_1, new BigDecimal("100.00"), TransactionType.DEPOSIT));
+        Hold outstanding = hold(new BigDecimal("30.00"));
+        Hold captured = hold(new BigDecimal("20.00"));
+        Hold voided = hold(new BigDecimal("10.00"));
+        store.placeHold(outstanding);
+        store.placeHold(captured);
+        store.placeHold(voided);
+        store.captureHold(captured.id(), new Transaction(ACCOUNT_1, new BigDecimal("15.00"), TransactionType.WITHDRAWAL));
+        store.releaseHold(ACCOUNT_1, voided.id());
+        store.close();
+
+        store = new JdbcLedgerStore(jdbcTemplate, properties(1024, Duration.ofMillis(5)));
+
+        assertThat(store.getHold(ACCOUNT_1, outstanding.id())).isEqualTo(outstanding);
+        assertThat(store.getHold(ACCOUNT_1, captured.id())).isNull();
+        assertThat(store.getHold(ACCOUNT_1, voided.id())).isNull();
+        assertThat(store.getBalance(ACCOUNT_1)).isEqualTo(new BigDecimal("85.00"));
+        assertThat(store.getSnapshot(ACCOUNT_1, 0, 0).availableBalance()).isEqualTo(new BigDecimal("55.00"));
+    }
+
+    @Test
+    void append_shouldNotPersistRejectedWithdrawals() throws InterruptedException {
+        store.createAccount(ACCOUNT_1);
+
+        assertThat(store.append(new Transaction(ACCOUNT_1, BigDecimal.ONE, TransactionType.WITHDRAWAL))).isFalse();
+        store.close();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Integer.class)).isZero();
+    }
+
+    @Test
+    void append_shouldSignalBackpressureWhenWriteBehindQueueIsFull() throws InterruptedException {
+        store.close();
+        store = new JdbcLedgerStore(jdbcTemplate, properties(2, Duration.ofSeconds(2)));
+        store.createAccount(ACCOUNT_1);
+        store.append(new Transaction(ACCOUNT_1, BigDecimal.TEN, TransactionType.DEPOSIT));
+
+        assertThat(store.isBackpressured()).isTrue();
+        assertThatThrownBy(() -> store.append(new Transaction(ACCOUNT_1, BigDecimal.ONE, TransactionType.DEPOSIT)))
+                .isInstanceOf(StoreBackpressureException.class);
+        assertThat(store.getBalance(ACCOUNT_1)).isEqualTo(BigDecimal.TEN);
+    }
+
+    @Test
+    void flush_shouldDeadLetterWritesTheDatabaseRefusesAndPersistTheRest() throws InterruptedException {
+        store.createAccount(ACCOUNT_1);
+        store.append(new Transaction(ACCOUNT_1, BigDecimal.TEN, TransactionType.DEPOSIT));
+        store.append(new Transaction(ACCOUNT_1, new BigDecimal("1E+30"), TransactionType.DEPOSIT));
+        store.append(new Transaction(ACCOUNT_1, BigDecimal.ONE, TransactionType.DEPOSIT));
+
+        store.close();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(amount) FROM transactions", BigDecimal.class))
+                .isEqualByComparingTo("11");
+        assertThat(jdbcTemplate.queryForObject("SELECT kind FROM dead_letters", String.class))
+                .isEqualTo("TransactionWrite");
+    }
+
+    @Test
+    void constructor_shouldReplayConcurrentWritesInTheOrderTheyWereApplied() throws Exception {
+        store.createAccount(ACCOUNT_1);
+        store.append(new Transaction(ACCOUNT_1, new BigDecimal("100000"), TransactionType.DEPOSIT));
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 100; i++) {
+                    store.append(new Transaction(ACCOUNT_1, BigDecimal.ONE, TransactionType.WITHDRAWAL));
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        List<Transaction> applied = store.getTransactions(ACCOUNT_1);
+        store.close();
+
+        store = new JdbcLedgerStore(jdbcTemplate, properties(1024, Duration.ofMillis(5)));
+
+        assertThat(store.getTransactions(ACCOUNT_1)).containsExactlyElementsOf(applied);
+    }
+
+    private static Hold hold(BigDecimal amount) {
+        Instant now = Instant.now();
+        return new Hold(UUID.randomUUID(), ACCOUNT_1, amount, now, now.plusSeconds(3600));
+    }
+
+    private static LedgerStoreProperties properties(int capacity, Duration maxFlushLag) {
+        return new LedgerStoreProperties("jdbc", 1024, capacity, 500, maxFlushLag);
+    }
+}
@@ -0,0 +1,122 @@
+package com.teya.ledger.store;
+
+import com.teya.ledger.model.AccountSnapshot;
+import com.teya.ledger.model.AccountId;
+import com.teya.ledger.model.Transaction;
+import com.teya.ledger.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedSegmentSealerTest {
+
+    private static final AccountId ACCOUNT_1 = new AccountId(0, 1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sealHistory_shouldReadTransparentlyAcrossTiers() throws IOException {
+        InMemoryLedgerStore store = new InMemoryLedgerStore();
+        store.createAccount(ACCOUNT_1);
+        for (int i = 1; i <= 10; i++) {
+            store.append(new Transaction(ACCOUNT_1, new BigDecimal(i + ".50"), TransactionType.DEPOSIT));
+        }
+        store.append(new Transaction(ACCOUNT_1, new BigDecimal("3.25"), TransactionType.WITHDRAWAL));
+        List<Transaction> before = store.getTransactions(ACCOUNT_1);
+
+        long sealed = store.sealHistory(Instant.now().plusSeconds(1),
+                new MappedSegmentSealer(directory, 1 << 20, 4));
+        store.append(new Transaction(ACCOUNT_1, new BigDecimal("0.75"), TransactionType.DEPOSIT));
+
+        assertThat(sealed).isEqualTo(11);
+        List<Transaction> after = store.getTransactions(ACCOUNT_1);
+        assertThat(after).hasSize(12);
+        assertThat(after.subList(0, 11)).containsExactlyElementsOf(before);
+        AccountSnapshot snapshot = store.getSnapshot(ACCOUNT_1, 1, 3);
+        assertThat(snapshot.transactionCount()).isEqualTo(12);
+        assertThat(snapshot.balance()).isEqualByComparingTo("57.50");
+        assertThat(snapshot.transactions()).containsExactly(before.get(10), before.get(9), before.get(8));
+    }
+
+    @Test
+    void sealHistory_shouldKeepTransactionsNewerThanCutoffOnHeap() throws IOException {
+        InMemoryLedgerStore store = new InMemoryLedgerStore();
+        store.createAccount(ACCOUNT_1);
+        Instant now = Instant.now();
+        store.append(new Transaction(UUID.randomUUID(), ACCOUNT_1, BigDecimal.TEN, TransactionType.DEPOSIT,
+                now.minusSeconds(3600)));
+        store.append(new Transaction(ACCOUNT_1, BigDecimal.ONE, TransactionType.DEPOSIT));
+
+        long sealed = store.sealHistory(now.minusSeconds(60), new MappedSegmentSealer(directory, 1 << 20, 4));
+
+        assertThat(sealed).isEqualTo(1);
+        assertThat(store.getTransactions(ACCOUNT_1)).extracting(Transaction::amount)
+                .containsExactly(BigDecimal.TEN, BigDecimal.ONE);
+    }
+
+    @Test
+    void seal_shouldKeepAtMostMaxMappedSegmentsMapped() throws IOException {
+        MappedSegmentSealer sealer = new MappedSegmentSealer(directory, 1 << 20, 2);
+        InMemoryLedgerStore store = new InMemoryLedgerStore();
+        for (int account = 0; account < 5; account++) {
+            store.createAccount(new AccountId(0, account));
+            store.append(new Transaction(new AccountId(0, account), BigDecimal.ONE, TransactionType.DEPOSIT));
+            store.sealHistory(Instant.now().plusSeconds(1), sealer);
+        }
+
+        for (int account = 0; account < 5; account++) {
+            assertThat(store.getTransactions(new AccountId(0, account))).singleElement()
+                    .extracting(Transaction::amount).isEqualTo(BigDecimal.ONE);
+        }
+        assertThat(sealer.mappedSegmentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void newSealer_shouldLeaveSegmentsOfOthersInTheSameDirectory() throws IOException {
+        InMemoryLedgerStore store = new InMemoryLedgerStore();
+        store.createAccount(ACCOUNT_1);
+        store.append(new Transaction(ACCOUNT_1, BigDecimal.ONE, TransactionType.DEPOSIT));
+        try (MappedSegmentSealer sealer = new MappedSegmentSealer(directory, 1 << 20, 4)) {
+            store.sealHistory(Instant.now().plusSeconds(1), sealer);
+
+            try (MappedSegmentSealer other = new MappedSegmentSealer(directory, 1 << 20, 4)) {
+                assertThat(other.directory()).isNotEqualTo(sealer.directory());
+                assertThat(store.getTransactions(ACCOUNT_1)).singleElement()
+                        .extracting(Transaction::amount).isEqualTo(BigDecimal.ONE);
+            }
+        }
+    }
+
+    @Test
+    void close_shouldDeleteOnlyTheSegmentsTheSealerWrote() throws IOException {
+        Path unrelated = Files.writeString(directory.resolve("unrelated.seg"), "keep");
+        InMemoryLedgerStore store = new InMemoryLedgerStore();
+        store.createAccount(ACCOUNT_1);
+        MappedSegmentSealer closed = new MappedSegmentSealer(directory, 1 << 20, 4);
+        MappedSegmentSealer open = new MappedSegmentSealer(directory, 1 << 20, 4);
+        store.append(new Transaction(ACCOUNT_1, BigDecimal.ONE, TransactionType.DEPOSIT));
+        store.sealHistory(Instant.now().plusSeconds(1), closed);
+        store.append(new Transaction(ACCOUNT_1, BigDecimal.TEN, TransactionType.DEPOSIT));
+        store.sealHistory(Instant.now().plusSeconds(1), open);
+
+        closed.close();
+
+        assertThat(closed.directory()).doesNotExist();
+        assertThat(unrelated).hasContent("keep");
+        try (open) {
+            assertThat(open.directory()).isDirectoryContaining("glob:**.seg");
+            assertThat(store.getSnapshot(ACCOUNT_1, 0, 1).transactions()).singleElement()
+                    .extracting(Transaction::amount).isEqualTo(BigDecimal.TEN);
+        }
+    }
+}